@@ -1,5 +1,12 @@
-mvn clean install -T 4C -DskipTests -B
-docker image build -t aex-jar:latest .
+# Uso: ./build_image.sh [--fast-startup]
+# --fast-startup gera a imagem com Spring AOT + AppCDS (Dockerfile.cds)
+if [ "$1" = "--fast-startup" ]; then
+  mvn clean install -T 4C -DskipTests -B -Pfast-startup
+  docker image build -f Dockerfile.cds -t aex-jar:latest .
+else
+  mvn clean install -T 4C -DskipTests -B
+  docker image build -t aex-jar:latest .
+fi
 
 running_containers=$(docker container ls --format '{{.Names}}' | grep "^app-compose" | awk '{print $1}')
 if [ -n "$running_containers" ]; then
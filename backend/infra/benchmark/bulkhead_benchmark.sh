@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# p99 de create_order sozinho e com o painel administrativo saturando o seu compartimento (bulkhead).
+#
+# Sobe o jar com a massa do profile datagen em H2 e compartimentos/pools administrativos pequenos, para que a
+# carga administrativa sature o compartimento e receba 503. Cliente e servidor rodam na mesma máquina: com poucos
+# núcleos a CPU compartilhada também pesa no p99, então compare as duas linhas da mesma execução.
+#
+# Uso: ./infra/benchmark/bulkhead_benchmark.sh [jar] [pedidos por thread] [threads de atendimento] [threads admin]
+# Ex.: ./infra/benchmark/bulkhead_benchmark.sh target/projeto-aplicado-0.0.1-SNAPSHOT.jar 100 4 16
+
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+JAR=${1:-target/projeto-aplicado-0.0.1-SNAPSHOT.jar}
+ORDERS_PER_THREAD=${2:-100}
+CUSTOMER_THREADS=${3:-4}
+ADMIN_THREADS=${4:-16}
+
+PORT=${PORT:-8093}
+BASE_URL="http://localhost:$PORT"
+
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+
+java -jar "$JAR" --server.port="$PORT" --spring.profiles.active=datagen \
+  --spring.datasource.url=jdbc:h2:mem:bulkhead --spring.jpa.hibernate.ddl-auto=create --spring.sql.init.mode=always \
+  --aex.datagen.orders=20000 --aex.datagen.clients-per-store=2000 --aex.datagen.products=50 --aex.datagen.days=5 \
+  --aex.bulkhead.admin.max-concurrent=2 --aex.bulkhead.admin.queue-size=2 --aex.bulkhead.admin.max-wait=100ms \
+  --aex.sharding.pool-size.admin=2 > /tmp/bulkhead_benchmark.log 2>&1 &
+APP_PID=$!
+trap 'kill "$APP_PID" 2> /dev/null || true' EXIT
+
+# A aplicação responde antes de a massa terminar: espera o log do gerador
+for _ in $(seq 1 600); do
+  grep -q "Gerados" /tmp/bulkhead_benchmark.log && break
+  sleep 0.5
+done
+
+java -Dstdout.encoding=UTF-8 -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+  br.com.aex.api.bulkhead.BulkheadBenchmark "$BASE_URL" "$ORDERS_PER_THREAD" "$CUSTOMER_THREADS" "$ADMIN_THREADS"
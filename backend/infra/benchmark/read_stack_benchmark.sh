@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Leituras de cardápio, acompanhamento de pedido e busca de cliente com requisições em threads da plataforma
+# (padrão, pool do Tomcat) e em threads virtuais (profile virtual-threads): vazão, p99, threads e RSS do
+# servidor por conexão simultânea.
+#
+# Cliente e servidor rodam na mesma máquina; com poucos núcleos a vazão absoluta é limitada pela CPU
+# compartilhada e a comparação relevante é o custo por conexão.
+#
+# Uso: ./infra/benchmark/read_stack_benchmark.sh [jar] [segundos] [conexões...]
+# Ex.: ./infra/benchmark/read_stack_benchmark.sh target/projeto-aplicado-0.0.1-SNAPSHOT.jar 10 50 200 800
+
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+JAR=${1:-target/projeto-aplicado-0.0.1-SNAPSHOT.jar}
+SECONDS_PER_RUN=${2:-10}
+LEVELS=(50 200 800)
+if [ $# -gt 2 ]; then
+  shift 2
+  LEVELS=("$@")
+fi
+
+PORT=${PORT:-8092}
+BASE_URL="http://localhost:$PORT"
+TELEPHONE=48999990042
+
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+
+for profile in default virtual-threads; do
+  java -jar "$JAR" --server.port="$PORT" --spring.profiles.active="$profile" \
+    --spring.jpa.properties.hibernate.show_sql=false --aex.warmup.enabled=false > "/tmp/read_stack_$profile.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 240); do
+    curl -s -o /dev/null "$BASE_URL/v1/product" && break
+    sleep 0.5
+  done
+
+  client=$(curl -s -H "Content-Type: application/json" -d "{\"nome\":\"Bench\",\"telefone\":\"$TELEPHONE\"}" \
+    "$BASE_URL/v1/client" | sed -E 's/.*"id":([0-9]+).*/\1/')
+  order=$(curl -s -H "Content-Type: application/json" \
+    -d "{\"cliente_id\":$client,\"itens\":[{\"produto_id\":1,\"quantidade\":1}],\"total\":10}" \
+    "$BASE_URL/v1/order/create_order" | sed -E 's/.*"id":([0-9]+).*/\1/')
+
+  echo "== $profile"
+  java -Dstdout.encoding=UTF-8 -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+    br.com.aex.api.ReadStackBenchmark "$BASE_URL" "$APP_PID" "$SECONDS_PER_RUN" "$order" "$TELEPHONE" "${LEVELS[@]}"
+
+  kill "$APP_PID"
+  wait "$APP_PID" 2> /dev/null || true
+done
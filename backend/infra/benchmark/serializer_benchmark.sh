@@ -0,0 +1,16 @@
+#!/usr/bin/env bash
+# Vazão e bytes alocados por resposta na serialização dos DTOs mais servidos (cardápio, cliente, pedido),
+# com o serializador por reflexão do Jackson e com os serializadores escritos por DTO (RecordSerializer).
+#
+# Uso: ./infra/benchmark/serializer_benchmark.sh [segundos-por-medição]
+# Ex.: ./infra/benchmark/serializer_benchmark.sh 5
+
+set -euo pipefail
+
+SECONDS_PER_RUN=${1:-3}
+
+cd "$(dirname "$0")/../.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+java -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+  br.com.aex.api.json.SerializerBenchmark "$SECONDS_PER_RUN"
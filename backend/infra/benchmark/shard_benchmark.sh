@@ -0,0 +1,65 @@
+#!/usr/bin/env bash
+# Vazão de create_order (pedidos/s) em função do número de shards.
+#
+# Para cada quantidade de shards sobe o jar com bancos H2 adicionais (aex.sharding.shards[i]) e roda o
+# ShardBenchmark: um cliente por loja e N clientes HTTP simultâneos na JVM do benchmark, distribuídos entre as
+# lojas via X-Store-Id. A coluna "teto cliente req/s" é a mesma carga contra um servidor HTTP mínimo dentro da
+# JVM do benchmark: enquanto ela for bem maior que pedidos/s, o limite é a aplicação, não o cliente.
+#
+# Com H2 em memória todos os shards dividem a CPU e o processo da aplicação: o número mede a redução de
+# contenção (locks, sequences, índices, pools); para medir escala de hardware, aponte os shards para bancos
+# Postgres separados com EXTRA_ARGS.
+#
+# Uso: ./infra/benchmark/shard_benchmark.sh [jar] [segundos] [concorrencia] [lojas] [shards...]
+# Ex.: ./infra/benchmark/shard_benchmark.sh target/projeto-aplicado-0.0.1-SNAPSHOT.jar 15 32 8 1 2 4
+
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+JAR=${1:-target/projeto-aplicado-0.0.1-SNAPSHOT.jar}
+SECONDS_PER_RUN=${2:-15}
+CONCURRENCY=${3:-32}
+STORES=${4:-8}
+SHARD_COUNTS=(1 2 4)
+if [ $# -gt 4 ]; then
+  shift 4
+  SHARD_COUNTS=("$@")
+fi
+
+PORT=${PORT:-8091}
+BASE_URL="http://localhost:$PORT"
+EXTRA_ARGS=${EXTRA_ARGS:-}
+
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+
+start_app() {
+  local shards=$1 args=()
+  for (( i = 0; i < shards - 1; i++ )); do
+    args+=("--aex.sharding.shards[$i].url=jdbc:h2:mem:aex_shard$((i + 1))"
+           "--aex.sharding.shards[$i].username=sa"
+           "--aex.sharding.shards[$i].password=pass")
+  done
+  java -jar "$JAR" --server.port="$PORT" --spring.jpa.properties.hibernate.show_sql=false \
+    --logging.level.root=warn "${args[@]}" $EXTRA_ARGS > "/tmp/shard_benchmark_$shards.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 240); do
+    curl -s -o /dev/null "$BASE_URL/v1/product" && return 0
+    sleep 0.5
+  done
+  echo "aplicação não subiu, veja /tmp/shard_benchmark_$shards.log" >&2
+  exit 1
+}
+
+stop_app() {
+  kill "$APP_PID"
+  wait "$APP_PID" 2> /dev/null || true
+}
+
+printf "%-8s %-8s %-12s %12s %10s %8s %16s\n" "shards" "lojas" "concorrência" "pedidos/s" "p99 ms" "erros" "teto cliente req/s"
+for shards in "${SHARD_COUNTS[@]}"; do
+  start_app "$shards"
+  java -Dstdout.encoding=UTF-8 -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+    br.com.aex.repository.shard.ShardBenchmark "$BASE_URL" "$shards" "$SECONDS_PER_RUN" "$CONCURRENCY" "$STORES"
+  stop_app
+done
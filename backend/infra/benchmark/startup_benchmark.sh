@@ -0,0 +1,51 @@
+#!/usr/bin/env bash
+# Compara o tempo de inicialização de duas imagens da aplicação.
+# Mede o tempo até o primeiro GET /v1/product com sucesso e o RSS do processo java nesse momento.
+#
+# Uso: ./startup_benchmark.sh [imagem-padrao] [imagem-fast-startup] [execucoes]
+# Ex.: docker image build -t aex-jar:plain . && docker image build -f Dockerfile.cds -t aex-jar:cds .
+#      ./infra/benchmark/startup_benchmark.sh aex-jar:plain aex-jar:cds 5
+
+set -euo pipefail
+
+PLAIN_IMAGE=${1:-aex-jar:plain}
+CDS_IMAGE=${2:-aex-jar:cds}
+RUNS=${3:-5}
+PORT=18080
+
+now_ms() {
+  date +%s%3N
+}
+
+measure() {
+  local image=$1
+  local name="startup-bench-$$"
+
+  local start
+  start=$(now_ms)
+  docker run -d --rm --name "$name" -p "$PORT:8080" "$image" > /dev/null
+
+  until curl -sf -o /dev/null "http://localhost:$PORT/v1/product"; do
+    sleep 0.05
+  done
+  local elapsed=$(( $(now_ms) - start ))
+
+  local rss_kb
+  rss_kb=$(docker exec "$name" sh -c 'grep VmRSS /proc/$(pidof java)/status' | awk '{print $2}')
+
+  docker stop "$name" > /dev/null
+  echo "$elapsed $rss_kb"
+}
+
+printf "%-24s %6s %12s %12s\n" "imagem" "exec" "primeiro_ok_ms" "rss_mb"
+for image in "$PLAIN_IMAGE" "$CDS_IMAGE"; do
+  total_ms=0
+  total_rss=0
+  for run in $(seq 1 "$RUNS"); do
+    read -r ms rss <<< "$(measure "$image")"
+    printf "%-24s %6s %12s %12s\n" "$image" "$run" "$ms" "$(( rss / 1024 ))"
+    total_ms=$(( total_ms + ms ))
+    total_rss=$(( total_rss + rss ))
+  done
+  printf "%-24s %6s %12s %12s\n" "$image" "média" "$(( total_ms / RUNS ))" "$(( total_rss / RUNS / 1024 ))"
+done
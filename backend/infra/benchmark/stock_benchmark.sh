@@ -0,0 +1,19 @@
+#!/usr/bin/env bash
+# Vazão de reservas de estoque de um único produto sob disputa de muitas threads.
+#
+# Compara a baixa direto na linha do banco (H2 em memória, uma transação por reserva; roda 1/100 das
+# reservas por ser ordens de grandeza mais lento), synchronized, um AtomicLong com CAS e o StripedStock.
+#
+# Uso: ./infra/benchmark/stock_benchmark.sh [threads] [reservas-por-thread]
+# Ex.: ./infra/benchmark/stock_benchmark.sh 64 200000
+
+set -euo pipefail
+
+THREADS=${1:-64}
+PER_THREAD=${2:-200000}
+
+cd "$(dirname "$0")/../.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+java -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+  br.com.aex.service.stock.StockContentionBenchmark "$THREADS" "$PER_THREAD"
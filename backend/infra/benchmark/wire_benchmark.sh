@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Compara bytes trafegados e CPU do servidor por endpoint, para JSON e CBOR, com e sem gzip.
+#
+# Bytes: tamanho do corpo recebido (já comprimido, quando houver compressão).
+# CPU: tempo de CPU (user + sys) do processo java durante N requisições, dividido por N.
+#      Requer acesso ao /proc do processo (rodar na mesma máquina/container da aplicação).
+#
+# Uso: ./wire_benchmark.sh [base-url] [pid-java] [requisicoes]
+# Ex.: ./infra/benchmark/wire_benchmark.sh http://localhost:8080 "$(pgrep -f projeto-aplicado)" 500
+
+set -euo pipefail
+
+BASE_URL=${1:-http://localhost:8080}
+APP_PID=${2:-}
+REQUESTS=${3:-500}
+
+ENDPOINTS=(
+  "/v1/product"
+  "/v1/product/1"
+  "/v1/product?fields=id,nome"
+  "/v1/client"
+  "/v1/client/1"
+  "/v1/client/1/orders"
+  "/v1/order/1"
+)
+
+CLK_TCK=$(getconf CLK_TCK)
+
+cpu_ticks() {
+  # campos 14 (utime) e 15 (stime) de /proc/<pid>/stat
+  awk '{print $14 + $15}' "/proc/$APP_PID/stat"
+}
+
+request() {
+  local accept=$1 gzip=$2 url=$3
+  if [ "$gzip" = "sim" ]; then
+    curl -s -o /dev/null -w "%{size_download}" -H "Accept: $accept" -H "Accept-Encoding: gzip" "$url"
+  else
+    curl -s -o /dev/null -w "%{size_download}" -H "Accept: $accept" "$url"
+  fi
+}
+
+printf "%-30s %-18s %-5s %10s %14s\n" "endpoint" "formato" "gzip" "bytes" "cpu_us/req"
+for endpoint in "${ENDPOINTS[@]}"; do
+  for accept in "application/json" "application/cbor"; do
+    for gzip in "nao" "sim"; do
+      url="$BASE_URL$endpoint"
+      bytes=$(request "$accept" "$gzip" "$url")
+
+      cpu="-"
+      if [ -n "$APP_PID" ]; then
+        # aquecimento antes de medir
+        for _ in $(seq 1 50); do request "$accept" "$gzip" "$url" > /dev/null; done
+        before=$(cpu_ticks)
+        for _ in $(seq 1 "$REQUESTS"); do request "$accept" "$gzip" "$url" > /dev/null; done
+        after=$(cpu_ticks)
+        cpu=$(( (after - before) * 1000000 / CLK_TCK / REQUESTS ))
+      fi
+
+      printf "%-30s %-18s %-5s %10s %14s\n" "$endpoint" "$accept" "$gzip" "$bytes" "$cpu"
+    done
+  done
+done
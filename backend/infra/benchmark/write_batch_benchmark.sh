@@ -0,0 +1,49 @@
+#!/usr/bin/env bash
+# Linhas/s nos caminhos de escrita do Hibernate (pedidos com vários itens, insert e update de produtos),
+# sem batching JDBC (batch_size=1) e com o batching configurado em application.properties.
+#
+# Por padrão usa o H2 em memória. Com POSTGRES=1 sobe o Postgres do infra/compose.yaml (ou usa o banco de
+# POSTGRES_URL) e roda três vezes: batch_size=1, batch_size=50 sem reWriteBatchedInserts e batch_size=50 com
+# ele, que é o caso em que cada batch vira um único insert multi-linha no driver.
+#
+# Uso: [POSTGRES=1] ./infra/benchmark/write_batch_benchmark.sh [pedidos] [itens-por-pedido] [produtos] [args do Spring...]
+# Ex.: ./infra/benchmark/write_batch_benchmark.sh 2000 5 5000
+#      POSTGRES=1 ./infra/benchmark/write_batch_benchmark.sh 2000 5 5000
+
+set -euo pipefail
+
+ORDERS=${1:-2000}
+ITEMS=${2:-5}
+PRODUCTS=${3:-5000}
+shift $(( $# < 3 ? $# : 3 ))
+
+cd "$(dirname "$0")/../.."
+mvn -B -q test-compile
+mvn -B -q dependency:build-classpath -Dmdep.outputFile=target/benchmark.classpath -Dmdep.includeScope=test
+
+run() {
+  java -Dstdout.encoding=UTF-8 -cp "target/classes:target/test-classes:$(cat target/benchmark.classpath)" \
+    br.com.aex.repository.WriteBatchBenchmark "$ORDERS" "$ITEMS" "$PRODUCTS" \
+    --spring.main.web-application-type=none --spring.main.banner-mode=off --logging.level.root=warn \
+    --spring.jpa.properties.hibernate.show_sql=false --aex.jfr.start-on-startup=false "$@"
+}
+
+if [ "${POSTGRES:-0}" = 1 ]; then
+  POSTGRES_URL=${POSTGRES_URL:-jdbc:postgresql://localhost:5432/aex}
+  if [[ "$POSTGRES_URL" == *localhost* ]]; then
+    docker compose -f infra/compose.yaml up -d postgres
+    until docker compose -f infra/compose.yaml exec -T postgres pg_isready -U postgres -d aex > /dev/null; do
+      sleep 1
+    done
+  fi
+  for config in "1 true" "50 false" "50 true"; do
+    read -r batch_size rewrite <<< "$config"
+    echo "== Postgres, reWriteBatchedInserts=$rewrite"
+    run --spring.profiles.active=postgres --spring.datasource.url="$POSTGRES_URL?reWriteBatchedInserts=$rewrite" \
+      --spring.jpa.properties.hibernate.jdbc.batch_size="$batch_size" "$@"
+  done
+else
+  for batch_size in 1 50; do
+    run --spring.jpa.properties.hibernate.jdbc.batch_size="$batch_size" "$@"
+  done
+fi
@@ -0,0 +1,30 @@
+package br.com.aex.api;
+
+import br.com.aex.service.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Limite de ids por requisição nas consultas em lote (multi-get).
+ */
+@Component
+public class BatchGetLimit {
+
+    private final int maxSize;
+
+    public BatchGetLimit(@Value("${aex.batch-get.max-size:100}") final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public List<Long> check(final List<Long> ids) {
+        if (ids.isEmpty()) {
+            throw new BadRequestException("Informe ao menos um id");
+        }
+        if (ids.size() > maxSize) {
+            throw new BadRequestException("Máximo de " + maxSize + " ids por consulta, recebidos: " + ids.size());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,150 @@
+package br.com.aex.api;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+/**
+ * Guarda em memória só os primeiros {@code limit} bytes da resposta. Se o corpo terminar dentro do limite, é
+ * enviado com Content-Length em {@link #finish()}; se passar dele, o que foi guardado é enviado e o resto segue
+ * direto para a resposta (chunked), sem acumular o documento inteiro.
+ */
+class BoundedBufferResponseWrapper extends HttpServletResponseWrapper {
+
+    private final int limit;
+    private final ByteArrayOutputStream buffer;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+    private boolean streaming;
+
+    BoundedBufferResponseWrapper(final HttpServletResponse response, final int limit) {
+        super(response);
+        this.limit = limit;
+        this.buffer = new ByteArrayOutputStream(Math.min(limit, 1024));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (outputStream == null) {
+            outputStream = new BoundedOutputStream();
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    // Enquanto guarda, flush não pode enviar os headers: o tamanho ainda não é conhecido
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (streaming) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        if (!streaming) {
+            buffer.reset();
+        }
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        if (!streaming) {
+            buffer.reset();
+        }
+        super.reset();
+    }
+
+    /**
+     * Envia o que ainda estiver guardado, com Content-Length.
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (streaming || buffer.size() == 0) {
+            return;
+        }
+        final HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (!response.isCommitted()) {
+            response.setContentLength(buffer.size());
+        }
+        buffer.writeTo(response.getOutputStream());
+        buffer.reset();
+    }
+
+    private void startStreaming() throws IOException {
+        streaming = true;
+        buffer.writeTo(getResponse().getOutputStream());
+        buffer.reset();
+    }
+
+    private final class BoundedOutputStream extends ServletOutputStream {
+
+        @Override
+        public void write(final int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            if (!streaming && buffer.size() + length > limit) {
+                startStreaming();
+            }
+            if (streaming) {
+                getResponse().getOutputStream().write(bytes, offset, length);
+            } else {
+                buffer.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (streaming) {
+                getResponse().getOutputStream().flush();
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            try {
+                return getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Em IO não bloqueante o finish() não pode mais escrever por conta própria: o que foi guardado segue antes
+        // do listener assumir a resposta
+        @Override
+        public void setWriteListener(final WriteListener writeListener) {
+            try {
+                if (!streaming) {
+                    startStreaming();
+                }
+                getResponse().getOutputStream().setWriteListener(writeListener);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
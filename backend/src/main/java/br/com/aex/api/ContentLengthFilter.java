@@ -0,0 +1,44 @@
+package br.com.aex.api;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Envia com Content-Length as respostas da API menores que server.compression.min-response-size.
+ * Sem o tamanho conhecido (resposta chunked) o Tomcat ignora o mínimo e comprime até documentos de poucos
+ * bytes, que ficam maiores do que o original. Só esses primeiros bytes ficam em memória: respostas maiores
+ * seguem em streaming e são comprimidas de qualquer forma.
+ */
+@Component
+public class ContentLengthFilter extends OncePerRequestFilter {
+
+    private final int limit;
+
+    public ContentLengthFilter(@Value("${server.compression.min-response-size:2KB}") final DataSize minResponseSize) {
+        this.limit = (int) minResponseSize.toBytes();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final BoundedBufferResponseWrapper wrapper = new BoundedBufferResponseWrapper(response, limit);
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            wrapper.finish();
+        }
+    }
+}
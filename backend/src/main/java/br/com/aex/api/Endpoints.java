@@ -5,6 +5,8 @@ public final class Endpoints {
     public static final String V1_CLIENT = "/v1/client";
     public static final String V1_ORDER = "/v1/order";
     public static final String V1_PRODUCT = "/v1/product";
+    public static final String STOCK = "/stock";
+    public static final String SUGGESTIONS = "/suggestions";
 
     private Endpoints() {
     }
@@ -0,0 +1,32 @@
+package br.com.aex.api;
+
+import br.com.aex.api.json.RecordSerializerModule;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@Configuration
+public class JacksonConfig {
+
+    // DTOs com @JsonFilter serializam todos os campos quando a requisição não informa ?fields=
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer sparseFieldsetFilters() {
+        return builder -> builder.filters(SparseFieldset.defaultFilters());
+    }
+
+    // Serializadores escritos à mão para os DTOs mais servidos; módulos registrados como bean entram no builder
+    @Bean
+    public RecordSerializerModule recordSerializerModule() {
+        return new RecordSerializerModule();
+    }
+
+    // application/cbor com as mesmas configurações do JSON (SNAKE_CASE, filtros de ?fields=)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(final Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+}
@@ -0,0 +1,30 @@
+package br.com.aex.api;
+
+import br.com.aex.service.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por keyset da busca de pedidos: data de criação e id da última linha entregue.
+ * Trafega como token opaco (base64 url-safe), para o cliente apenas repassá-lo no {@code cursor} da próxima página.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    public String encode() {
+        final String value = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.indexOf('|');
+            return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Cursor inválido: " + token);
+        }
+    }
+}
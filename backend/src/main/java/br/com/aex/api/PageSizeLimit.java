@@ -0,0 +1,31 @@
+package br.com.aex.api;
+
+import br.com.aex.service.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tamanho de página das consultas paginadas por cursor.
+ */
+@Component
+public class PageSizeLimit {
+
+    private final int defaultSize;
+    private final int maxSize;
+
+    public PageSizeLimit(@Value("${aex.page.default-size:50}") final int defaultSize,
+                         @Value("${aex.page.max-size:500}") final int maxSize) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+    }
+
+    public int check(final Integer size) {
+        if (size == null) {
+            return defaultSize;
+        }
+        if (size < 1 || size > maxSize) {
+            throw new BadRequestException("O tamanho da página deve estar entre 1 e " + maxSize + ", recebido: " + size);
+        }
+        return size;
+    }
+}
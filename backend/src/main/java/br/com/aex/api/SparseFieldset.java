@@ -0,0 +1,82 @@
+package br.com.aex.api;
+
+import br.com.aex.service.exception.BadRequestException;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Campos pedidos pelo cliente via {@code ?fields=id,status}. Os nomes são os do JSON (snake_case).
+ * <p>
+ * Os DTOs que aceitam o parâmetro são anotados com {@code @JsonFilter(SparseFieldset.FILTER_ID)} e
+ * expõem um mapa {@code FIELDS} de campo do JSON para atributo da entidade, usado na projeção SQL.
+ */
+public record SparseFieldset(Set<String> fields) {
+
+    public static final String PARAM = "fields";
+    public static final String FILTER_ID = "sparseFieldset";
+    public static final String DESCRIPTION = "Comma separated list of fields to return, e.g. id,status";
+
+    public static SparseFieldset parse(final String fields, final Set<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return new SparseFieldset(Set.of());
+        }
+
+        final Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            final String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new BadRequestException("Campo inválido: " + name + ". Campos disponíveis: " + allowed);
+            }
+            selected.add(name);
+        }
+        return new SparseFieldset(selected);
+    }
+
+    public boolean isAll() {
+        return fields.isEmpty();
+    }
+
+    /**
+     * Restringe o mapa de campo -> atributo da entidade aos campos selecionados, mantendo a ordem do mapa.
+     */
+    public Map<String, String> project(final Map<String, String> columns) {
+        final Map<String, String> projection = new LinkedHashMap<>();
+        columns.forEach((field, attribute) -> {
+            if (isAll() || fields.contains(field)) {
+                projection.put(field, attribute);
+            }
+        });
+        return projection;
+    }
+
+    /**
+     * Monta o mapa ordenado campo -> atributo a partir de pares {@code campo, atributo}.
+     */
+    public static Map<String, String> columns(final String... pairs) {
+        final Map<String, String> columns = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            columns.put(pairs[i], pairs[i + 1]);
+        }
+        return Collections.unmodifiableMap(columns);
+    }
+
+    public static SimpleFilterProvider filters(final String fields) {
+        final Set<String> selected = new LinkedHashSet<>();
+        Arrays.stream(fields.split(",")).map(String::trim).filter(name -> !name.isEmpty()).forEach(selected::add);
+        return defaultFilters().addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(selected));
+    }
+
+    public static SimpleFilterProvider defaultFilters() {
+        return new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.aex.api;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Arrays;
+
+/**
+ * Aplica o parâmetro {@code fields} na serialização da resposta dos endpoints que o declaram
+ * ({@code @RequestParam(name = SparseFieldset.PARAM)}), inclusive o POST de batch-get.
+ * A validação dos nomes é feita no controller, via {@link SparseFieldset#parse}.
+ */
+@RestControllerAdvice
+public class SparseFieldsetAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    @Override
+    protected void beforeBodyWriteInternal(final MappingJacksonValue bodyContainer, final MediaType contentType,
+                                           final MethodParameter returnType, final ServerHttpRequest request,
+                                           final ServerHttpResponse response) {
+        if (!declaresFields(returnType) || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+
+        final String fields = servletRequest.getServletRequest().getParameter(SparseFieldset.PARAM);
+        if (fields != null && !fields.isBlank()) {
+            bodyContainer.setFilters(SparseFieldset.filters(fields));
+        }
+    }
+
+    private static boolean declaresFields(final MethodParameter returnType) {
+        return Arrays.stream(returnType.getExecutable().getParameters())
+                .map(parameter -> parameter.getAnnotation(RequestParam.class))
+                .anyMatch(param -> param != null && SparseFieldset.PARAM.equals(param.name()));
+    }
+}
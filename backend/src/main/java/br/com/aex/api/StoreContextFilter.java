@@ -0,0 +1,79 @@
+package br.com.aex.api;
+
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.StoreContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Vincula a requisição à loja do header {@code X-Store-Id} (ou à loja padrão) e ao shard dessa loja.
+ * Precisa rodar antes do open-in-view, que abre o EntityManager e a conexão no shard vinculado.
+ * <p>
+ * Clientes, pedidos e estoque ficam no shard da loja. Produtos e categorias são dados de referência: são
+ * gravados no shard principal e replicados para os demais, por isso essas rotas não são vinculadas a uma loja.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StoreContextFilter extends OncePerRequestFilter {
+
+    public static final String STORE_HEADER = "X-Store-Id";
+
+    private final ShardRouter shardRouter;
+
+    public StoreContextFilter(final ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        if (!isStoreScoped(request.getRequestURI())) {
+            final StoreContext.Binding previous = StoreContext.bind(null, ShardRouter.PRIMARY);
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                StoreContext.restore(previous);
+            }
+            return;
+        }
+
+        final Long store = parseStore(request.getHeader(STORE_HEADER));
+        if (store == null) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), STORE_HEADER + " inválido");
+            return;
+        }
+
+        final StoreContext.Binding previous = StoreContext.bind(store, shardRouter.shardFor(store));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            StoreContext.restore(previous);
+        }
+    }
+
+    private static boolean isStoreScoped(final String uri) {
+        return uri.startsWith(Endpoints.V1_CLIENT) || uri.startsWith(Endpoints.V1_ORDER)
+                || (uri.startsWith(Endpoints.V1_PRODUCT) && uri.endsWith(Endpoints.STOCK));
+    }
+
+    private Long parseStore(final String header) {
+        if (header == null || header.isBlank()) {
+            return shardRouter.defaultStore();
+        }
+        try {
+            final long store = Long.parseLong(header.trim());
+            return store > 0 ? store : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
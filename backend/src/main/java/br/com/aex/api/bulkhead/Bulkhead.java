@@ -0,0 +1,102 @@
+package br.com.aex.api.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compartimento com número limitado de execuções simultâneas e fila de espera limitada.
+ * <p>
+ * Quem não encontra vaga espera até {@code maxWait}, desde que a fila não esteja cheia; caso contrário é recusado
+ * na hora. Assim um compartimento saturado ocupa no máximo {@code maxConcurrent + queueSize} threads do servidor.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int queueSize;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final Counter rejected;
+    private final Timer waitTimer;
+
+    public Bulkhead(final String name, final BulkheadProperties.Compartment config, final MeterRegistry meterRegistry) {
+        this.maxConcurrent = config.maxConcurrent();
+        this.queueSize = config.queueSize();
+        this.maxWaitNanos = config.maxWait().toNanos();
+        this.permits = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("aex.bulkhead.active", this, Bulkhead::active)
+                .description("Requisições executando no compartimento")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("aex.bulkhead.queued", queued, AtomicInteger::get)
+                .description("Requisições aguardando vaga no compartimento")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        Gauge.builder("aex.bulkhead.saturation", this, Bulkhead::saturation)
+                .description("Fração das vagas do compartimento em uso (1 = saturado)")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("aex.bulkhead.rejected")
+                .description("Requisições recusadas por falta de vaga")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("aex.bulkhead.wait")
+                .description("Espera por uma vaga no compartimento")
+                .tag("bulkhead", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ocupa uma vaga, esperando se necessário. Se devolver {@code true}, a vaga deve ser liberada com {@link #exit()}.
+     */
+    public boolean tryEnter() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (queued.incrementAndGet() > queueSize) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            rejected.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int queued() {
+        return queued.get();
+    }
+
+    public double rejectedCount() {
+        return rejected.count();
+    }
+
+    private double saturation() {
+        return (double) active() / maxConcurrent;
+    }
+}
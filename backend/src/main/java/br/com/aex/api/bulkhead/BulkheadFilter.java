@@ -0,0 +1,123 @@
+package br.com.aex.api.bulkhead;
+
+import br.com.aex.repository.shard.Workload;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static br.com.aex.api.Endpoints.V1_CLIENT;
+import static br.com.aex.api.Endpoints.V1_ORDER;
+import static br.com.aex.api.Endpoints.V1_PRODUCT;
+
+/**
+ * Separa as requisições da API em dois compartimentos: atendimento ao cliente (cardápio, cadastro, criação e
+ * acompanhamento de pedidos) e painel administrativo (listagens completas, histórico, busca e manutenção de
+ * pedidos e produtos).
+ * <p>
+ * Cada compartimento tem seu limite de execuções simultâneas, sua fila de espera ({@link Bulkhead}) e seu pool
+ * de conexões ({@link Workload}). Uma carga administrativa pesada satura apenas o próprio compartimento: o excesso
+ * recebe 503 com {@code Retry-After}, sem ocupar as threads do Tomcat nem as conexões do checkout.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    private record Route(HttpMethod method, PathPattern pattern) {
+
+        static Route of(final HttpMethod method, final String pattern) {
+            return new Route(method, PathPatternParser.defaultInstance.parse(pattern));
+        }
+
+        boolean matches(final HttpMethod method, final PathContainer path) {
+            return this.method.equals(method) && pattern.matches(path);
+        }
+    }
+
+    private static final List<Route> ADMIN_ROUTES = List.of(
+            Route.of(HttpMethod.GET, V1_CLIENT),
+            Route.of(HttpMethod.GET, V1_CLIENT + "/{id}/orders"),
+            Route.of(HttpMethod.PATCH, V1_CLIENT + "/{id}"),
+            Route.of(HttpMethod.DELETE, V1_CLIENT + "/{id}"),
+            Route.of(HttpMethod.GET, V1_ORDER),
+            Route.of(HttpMethod.POST, V1_ORDER + "/batch-get"),
+            Route.of(HttpMethod.PATCH, V1_ORDER + "/{id}/status"),
+            Route.of(HttpMethod.DELETE, V1_ORDER + "/{id}"),
+            Route.of(HttpMethod.POST, V1_PRODUCT + "/**"),
+            Route.of(HttpMethod.PUT, V1_PRODUCT + "/**"),
+            Route.of(HttpMethod.PATCH, V1_PRODUCT + "/**"),
+            Route.of(HttpMethod.DELETE, V1_PRODUCT + "/**")
+    );
+
+    private final Map<Workload, Bulkhead> bulkheads = new EnumMap<>(Workload.class);
+
+    public BulkheadFilter(final BulkheadProperties properties, final MeterRegistry meterRegistry) {
+        for (Workload workload : Workload.values()) {
+            bulkheads.put(workload, new Bulkhead(workload.name().toLowerCase(Locale.ROOT), properties.compartment(workload), meterRegistry));
+        }
+    }
+
+    public Bulkhead bulkhead(final Workload workload) {
+        return bulkheads.get(workload);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        // Actuator, documentação e console do H2 ficam fora dos compartimentos
+        return !request.getRequestURI().startsWith("/v1/");
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final Workload workload = classify(request);
+        final Bulkhead bulkhead = bulkheads.get(workload);
+
+        final boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        if (!entered) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Servidor ocupado, tente novamente em instantes");
+            return;
+        }
+
+        final Workload previous = Workload.bind(workload);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Workload.restore(previous);
+            bulkhead.exit();
+        }
+    }
+
+    static Workload classify(final HttpServletRequest request) {
+        final HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        final PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        return ADMIN_ROUTES.stream().anyMatch(route -> route.matches(method, path)) ? Workload.ADMIN : Workload.CUSTOMER;
+    }
+}
@@ -0,0 +1,46 @@
+package br.com.aex.api.bulkhead;
+
+import br.com.aex.repository.shard.Workload;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Limites de cada compartimento (bulkhead) de requisições.
+ * <p>
+ * A soma de {@code max-concurrent + queue-size} dos compartimentos deve ficar abaixo de
+ * {@code server.tomcat.threads.max}, para que sempre sobrem threads do Tomcat para cada um.
+ *
+ * <pre>
+ * aex.bulkhead.admin.max-concurrent=8
+ * aex.bulkhead.admin.queue-size=8
+ * aex.bulkhead.admin.max-wait=500ms
+ * </pre>
+ */
+@ConfigurationProperties("aex.bulkhead")
+public record BulkheadProperties(
+        Compartment customer,
+        Compartment admin
+) {
+
+    public BulkheadProperties {
+        customer = customer != null ? customer : new Compartment(120, 40, Duration.ofSeconds(1));
+        admin = admin != null ? admin : new Compartment(8, 8, Duration.ofMillis(500));
+    }
+
+    public Compartment compartment(final Workload workload) {
+        return workload == Workload.ADMIN ? admin : customer;
+    }
+
+    /**
+     * @param maxConcurrent requisições executando ao mesmo tempo
+     * @param queueSize     requisições aguardando vaga; acima disso são recusadas na hora
+     * @param maxWait       espera máxima por uma vaga antes de recusar
+     */
+    public record Compartment(
+            int maxConcurrent,
+            int queueSize,
+            Duration maxWait
+    ) {
+    }
+}
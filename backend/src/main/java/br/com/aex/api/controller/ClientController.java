@@ -1,9 +1,13 @@
 package br.com.aex.api.controller;
 
+import br.com.aex.api.BatchGetLimit;
+import br.com.aex.api.SparseFieldset;
+import br.com.aex.api.dto.batch.BatchItemDtoV1;
 import br.com.aex.api.dto.client.ClientDtoV1;
 import br.com.aex.api.dto.client.ClientOrderResponseDtoV1;
 import br.com.aex.api.dto.client.ClientPatchDtoV1;
 import br.com.aex.api.dto.client.ClientResponseDtoV1;
+import br.com.aex.api.dto.order.OrderResponseDtoV1;
 import br.com.aex.entity.Cliente;
 import br.com.aex.service.ClientService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +21,7 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List; // ✅ IMPORT ADICIONADO
+import java.util.Map;
 
 import static br.com.aex.api.Endpoints.V1_CLIENT;
 
@@ -26,15 +31,26 @@ import static br.com.aex.api.Endpoints.V1_CLIENT;
 public class ClientController {
 
     final ClientService clientService;
+    final BatchGetLimit batchGetLimit;
 
-    public ClientController(ClientService clientService) {
+    public ClientController(ClientService clientService, BatchGetLimit batchGetLimit) {
         this.clientService = clientService;
+        this.batchGetLimit = batchGetLimit;
     }
 
     // ✅ NOVO MÉTODO ADICIONADO AQUI - Listar todos os clientes
     @GetMapping
     @Operation(summary = "Get all Clients")
-    public ResponseEntity<List<ClientResponseDtoV1>> getAllClients() {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<List<ClientResponseDtoV1>> getAllClients(@RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ClientResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            final List<ClientResponseDtoV1> response = clientService.getClients(fieldset.project(ClientResponseDtoV1.FIELDS)).stream()
+                .map(ClientResponseDtoV1::from)
+                .toList();
+            return ResponseEntity.ok(response);
+        }
+
         final List<Cliente> clients = clientService.getClients();
         final List<ClientResponseDtoV1> response = clients.stream()
             .map(ClientResponseDtoV1::from)
@@ -42,10 +58,32 @@ public class ClientController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get Clients by a list of IDs")
+    @Parameter(name = "ids", in = ParameterIn.QUERY, description = "Comma separated Client IDs, e.g. 1,2,3")
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<List<BatchItemDtoV1<ClientResponseDtoV1>>> getClients(@RequestParam final List<Long> ids, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ClientResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            final Map<Long, Map<String, Object>> rows = clientService.getClients(batchGetLimit.check(ids), fieldset.project(ClientResponseDtoV1.FIELDS));
+            return ResponseEntity.ok(BatchItemDtoV1.from(ids, rows, ClientResponseDtoV1::from));
+        }
+
+        final Map<Long, Cliente> clients = clientService.getClients(batchGetLimit.check(ids));
+        final List<BatchItemDtoV1<ClientResponseDtoV1>> response = BatchItemDtoV1.from(ids, clients, ClientResponseDtoV1::from);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/telephone")
     @Operation(summary = "Get Client by telephone number")
     @Parameter(name = "telephone", in = ParameterIn.QUERY, description = "Telephone number")
-    public ResponseEntity<ClientResponseDtoV1> getClientByTelephone(@RequestParam final String telephone) {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<ClientResponseDtoV1> getClientByTelephone(@RequestParam final String telephone, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ClientResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            return ResponseEntity.ok(ClientResponseDtoV1.from(clientService.getClient(telephone, fieldset.project(ClientResponseDtoV1.FIELDS))));
+        }
+
         final Cliente client = clientService.getClient(telephone);
         final ClientResponseDtoV1 response = ClientResponseDtoV1.from(client);
         return ResponseEntity.ok(response);
@@ -54,7 +92,13 @@ public class ClientController {
     @GetMapping(path = "/{id}")
     @Operation(summary = "Get Client by ID")
     @Parameter(name = "id", in = ParameterIn.PATH, description = "Client ID")
-    public ResponseEntity<ClientResponseDtoV1> getClientById(@PathVariable final Long id) {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<ClientResponseDtoV1> getClientById(@PathVariable final Long id, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ClientResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            return ResponseEntity.ok(ClientResponseDtoV1.from(clientService.getClient(id, fieldset.project(ClientResponseDtoV1.FIELDS))));
+        }
+
         final Cliente client = clientService.getClient(id);
         final ClientResponseDtoV1 response = ClientResponseDtoV1.from(client);
         return ResponseEntity.ok(response);
@@ -63,7 +107,18 @@ public class ClientController {
     @GetMapping(path = "/{id}/orders")
     @Operation(summary = "Get Client orders by ID")
     @Parameter(name = "id", in = ParameterIn.PATH, description = "Client ID")
-    public ResponseEntity<ClientOrderResponseDtoV1> getClientOrders(@PathVariable final Long id) {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = "Comma separated list of order fields to return, e.g. id,status")
+    public ResponseEntity<ClientOrderResponseDtoV1> getClientOrders(@PathVariable final Long id, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, OrderResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            final Map<String, Object> client = clientService.getClient(id, SparseFieldset.columns("nome", "nome", "telefone", "telefone"));
+            final List<OrderResponseDtoV1> orders = clientService.getClientOrders(id, fieldset.project(OrderResponseDtoV1.FIELDS)).stream()
+                    .map(OrderResponseDtoV1::from)
+                    .toList();
+            final ClientDtoV1 clientDto = new ClientDtoV1((String) client.get("nome"), (String) client.get("telefone"));
+            return ResponseEntity.ok(new ClientOrderResponseDtoV1(clientDto, orders));
+        }
+
         final Cliente client = clientService.getClient(id);
         final ClientOrderResponseDtoV1 response = ClientOrderResponseDtoV1.from(client);
         return ResponseEntity.ok(response);
@@ -1,21 +1,50 @@
 package br.com.aex.api.controller;
 
+import br.com.aex.api.BatchGetLimit;
+import br.com.aex.api.OrderCursor;
+import br.com.aex.api.PageSizeLimit;
+import br.com.aex.api.SparseFieldset;
+import br.com.aex.api.dto.batch.BatchGetDtoV1;
+import br.com.aex.api.dto.batch.BatchItemDtoV1;
 import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
 import br.com.aex.api.dto.order.OrderDtoV1;
+import br.com.aex.api.dto.order.OrderIntakeResponseDtoV1;
+import br.com.aex.api.dto.order.OrderPageDtoV1;
+import br.com.aex.api.dto.order.OrderStatusDtoV1;
+import br.com.aex.api.dto.order.OrderSummaryDtoV1;
 import br.com.aex.entity.Cliente;
 import br.com.aex.entity.Pedido;
+import br.com.aex.repository.OrderSearchCriteria;
+import br.com.aex.service.OrderIntakeService;
+import br.com.aex.service.OrderReadCache;
 import br.com.aex.service.OrderService;
+import br.com.aex.service.exception.OutOfStockException;
+import br.com.aex.service.exception.ResourceNotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
 
 import static br.com.aex.api.Endpoints.V1_ORDER;
 
+@Slf4j
 @RestController
 @RequestMapping(V1_ORDER)
 @Tag(name = "Order Management", description = "Operations related to Orders")
@@ -23,41 +52,144 @@ import static br.com.aex.api.Endpoints.V1_ORDER;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderReadCache orderReadCache;
+    private final BatchGetLimit batchGetLimit;
+    private final PageSizeLimit pageSizeLimit;
+
+    @GetMapping
+    @Operation(summary = "Search Orders", description = "Most recent first, paginated by the cursor returned in next_cursor")
+    @Parameter(name = "status", in = ParameterIn.QUERY, description = "Order status")
+    @Parameter(name = "from", in = ParameterIn.QUERY, description = "Created at or after, e.g. 2025-10-18T00:00:00")
+    @Parameter(name = "to", in = ParameterIn.QUERY, description = "Created before, e.g. 2025-10-19T00:00:00")
+    @Parameter(name = "client_id", in = ParameterIn.QUERY, description = "Client ID")
+    @Parameter(name = "min_value", in = ParameterIn.QUERY, description = "Minimum order value")
+    @Parameter(name = "cursor", in = ParameterIn.QUERY, description = "next_cursor of the previous page")
+    @Parameter(name = "limit", in = ParameterIn.QUERY, description = "Page size")
+    public ResponseEntity<OrderPageDtoV1> searchOrders(@RequestParam(required = false) final String status,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to,
+                                                       @RequestParam(name = "client_id", required = false) final Long clientId,
+                                                       @RequestParam(name = "min_value", required = false) final BigDecimal minValue,
+                                                       @RequestParam(required = false) final String cursor,
+                                                       @RequestParam(required = false) final Integer limit) {
+        final int size = pageSizeLimit.check(limit);
+        final OrderCursor after = cursor != null ? OrderCursor.decode(cursor) : null;
+        final OrderSearchCriteria criteria = new OrderSearchCriteria(status, from, to, clientId, minValue);
+
+        // Uma linha a mais indica se existe próxima página
+        final List<OrderSummaryDtoV1> orders = orderService.searchOrders(criteria,
+                        after != null ? after.createdAt() : null, after != null ? after.id() : null, size + 1)
+                .stream()
+                .map(OrderSummaryDtoV1::from)
+                .toList();
+        if (orders.size() <= size) {
+            return ResponseEntity.ok(new OrderPageDtoV1(orders, null));
+        }
+
+        final List<OrderSummaryDtoV1> page = orders.subList(0, size);
+        final OrderSummaryDtoV1 last = page.get(size - 1);
+        return ResponseEntity.ok(new OrderPageDtoV1(page, new OrderCursor(last.createdAt(), last.id()).encode()));
+    }
 
     @GetMapping(path = "/{id}")
     @Operation(summary = "Get Order by ID")
     @Parameter(name = "id", in = ParameterIn.PATH, description = "Order ID")
-    public ResponseEntity<OrderDtoV1> getOrder(@PathVariable final Long id) {
-        final Pedido order = orderService.getOrder(id);
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<OrderDtoV1> getOrder(@PathVariable final Long id, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, OrderDtoV1.FIELDS.keySet());
+
+        // Pedidos aceitos de forma assíncrona ficam no buffer até serem gravados
+        final Optional<Pedido> pending = orderIntakeService.findPending(id);
+        if (pending.isPresent()) {
+            return ResponseEntity.ok(OrderDtoV1.from(pending.get()));
+        }
+
+        try {
+            if (!fieldset.isAll()) {
+                return ResponseEntity.ok(OrderDtoV1.from(orderService.getOrder(id, fieldset.project(OrderDtoV1.FIELDS))));
+            }
+
+            // Com o ETag na resposta, um If-None-Match igual recebe 304 sem serializar o corpo
+            final OrderReadCache.Snapshot snapshot = orderReadCache.get(id);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache())
+                    .eTag("W/\"" + snapshot.version() + "\"")
+                    .body(snapshot.order());
+        } catch (ResourceNotFoundException e) {
+            // Aceito de forma assíncrona e rejeitado na gravação
+            return orderIntakeService.findRejected(id)
+                    .map(rejected -> ResponseEntity.ok(OrderDtoV1.from(rejected)))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    @PatchMapping(path = "/{id}/status")
+    @Operation(summary = "Update Order status")
+    @Parameter(name = "id", in = ParameterIn.PATH, description = "Order ID")
+    public ResponseEntity<OrderDtoV1> updateStatus(@PathVariable final Long id, @RequestBody @Valid final OrderStatusDtoV1 orderStatusDto) {
+        final Pedido order = orderService.updateStatus(id, orderStatusDto.status());
         final OrderDtoV1 response = OrderDtoV1.from(order);
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(path = "/batch-get")
+    @Operation(summary = "Get Orders by a list of IDs")
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<List<BatchItemDtoV1<OrderDtoV1>>> getOrders(@RequestBody @Valid final BatchGetDtoV1 batchGetDto, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, OrderDtoV1.FIELDS.keySet());
+        final List<Long> ids = batchGetLimit.check(batchGetDto.ids());
+        final Map<Long, OrderDtoV1> found = new HashMap<>();
+        if (!fieldset.isAll()) {
+            orderService.getOrders(ids, fieldset.project(OrderDtoV1.FIELDS)).forEach((id, row) -> found.put(id, OrderDtoV1.from(row)));
+        } else {
+            orderService.getOrders(ids).forEach((id, order) -> found.put(id, OrderDtoV1.from(order)));
+        }
+        // Pedidos aceitos de forma assíncrona ainda não gravados
+        ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .forEach(id -> orderIntakeService.findPending(id).ifPresent(order -> found.put(id, OrderDtoV1.from(order))));
+        // Aceitos de forma assíncrona e rejeitados na gravação
+        ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .forEach(id -> orderIntakeService.findRejected(id).ifPresent(rejected -> found.put(id, OrderDtoV1.from(rejected))));
+
+        final List<BatchItemDtoV1<OrderDtoV1>> response = BatchItemDtoV1.from(ids, found, Function.identity());
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping(path = "/create_order")
     @Operation(summary = "Create Order with Products list")
     public ResponseEntity<?> createOrder(@RequestBody @Valid CompleteOrderDtoV1 completeOrderDto) {
         try {
-            System.out.println("📦 Recebendo pedido - Cliente ID: " + completeOrderDto.getClienteId());
-            System.out.println("📦 Total de itens: " + (completeOrderDto.getItens() != null ? completeOrderDto.getItens().size() : 0));
-            System.out.println("📦 Total do pedido: " + completeOrderDto.getTotal());
-            
-            if (completeOrderDto.getItens() != null) {
-                completeOrderDto.getItens().forEach(item -> 
-                    System.out.println("📦 Item - Produto ID: " + item.getProdutoId() + ", Quantidade: " + item.getQuantidade())
-                );
-            }
+            log.debug("Recebendo pedido do cliente {} com {} itens, total {}", completeOrderDto.getClienteId(),
+                    completeOrderDto.getItens() != null ? completeOrderDto.getItens().size() : 0, completeOrderDto.getTotal());
 
             final CompleteOrderDtoV1 response = orderService.createOrder(completeOrderDto);
             return ResponseEntity.ok(response);
             
+        } catch (OutOfStockException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("❌ Erro ao criar pedido: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Erro ao criar pedido do cliente {}", completeOrderDto.getClienteId(), e);
             return ResponseEntity.status(500)
                 .body("Erro interno ao criar pedido: " + e.getMessage());
         }
     }
 
+    @PostMapping(path = "/create_order_async")
+    @Operation(summary = "Accept Order for asynchronous creation")
+    public ResponseEntity<OrderIntakeResponseDtoV1> createOrderAsync(@RequestBody @Valid final CompleteOrderDtoV1 completeOrderDto) {
+        final Pedido order = orderIntakeService.accept(completeOrderDto);
+        final URI uri = UriComponentsBuilder
+                .fromPath(V1_ORDER + "/{id}")
+                .buildAndExpand(order.getId())
+                .toUri();
+
+        final OrderIntakeResponseDtoV1 response = OrderIntakeResponseDtoV1.accepted(order.getId(), order.getNumero());
+        return ResponseEntity.accepted().location(uri).body(response);
+    }
+
     @DeleteMapping(path = "/{id}")
     @Operation(summary = "Delete Order by ID")
     @Parameter(name = "id", in = ParameterIn.PATH, description = "Order ID")
@@ -1,9 +1,18 @@
 package br.com.aex.api.controller;
 
+import br.com.aex.api.BatchGetLimit;
+import br.com.aex.api.SparseFieldset;
+import br.com.aex.api.dto.batch.BatchItemDtoV1;
 import br.com.aex.api.dto.product.ProductDtoV1;
 import br.com.aex.api.dto.product.ProductResponseDtoV1;
+import br.com.aex.api.dto.product.ProductSuggestionDtoV1;
+import br.com.aex.api.dto.stock.StockEntryDtoV1;
+import br.com.aex.api.dto.stock.StockResponseDtoV1;
+import br.com.aex.repository.shard.StoreContext;
 import br.com.aex.entity.Produto;
 import br.com.aex.service.ProductService;
+import br.com.aex.service.stock.StockService;
+import br.com.aex.service.suggestion.SuggestionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -15,7 +24,10 @@ import org.springframework.web.util.UriComponentsBuilder;
 
 import java.net.URI;
 import java.util.List;
+import java.util.Map;
 
+import static br.com.aex.api.Endpoints.STOCK;
+import static br.com.aex.api.Endpoints.SUGGESTIONS;
 import static br.com.aex.api.Endpoints.V1_PRODUCT;
 
 @RestController
@@ -24,28 +36,104 @@ import static br.com.aex.api.Endpoints.V1_PRODUCT;
 public class ProductController {
 
     private final ProductService productService;
+    private final BatchGetLimit batchGetLimit;
+    private final StockService stockService;
+    private final SuggestionService suggestionService;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, BatchGetLimit batchGetLimit, StockService stockService,
+                             SuggestionService suggestionService) {
         this.productService = productService;
+        this.batchGetLimit = batchGetLimit;
+        this.stockService = stockService;
+        this.suggestionService = suggestionService;
     }
 
     @GetMapping
     @Operation(summary = "List available Products")
-    public ResponseEntity<List<ProductResponseDtoV1>> getProduct() {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<List<ProductResponseDtoV1>> getProduct(@RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ProductResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            final List<ProductResponseDtoV1> response = productService.getProducts(fieldset.project(ProductResponseDtoV1.FIELDS)).stream()
+                    .map(ProductResponseDtoV1::from)
+                    .toList();
+            return ResponseEntity.ok(response);
+        }
+
         final List<Produto> products = productService.getProducts();
         final List<ProductResponseDtoV1> response = ProductResponseDtoV1.from(products);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get Products by a list of IDs")
+    @Parameter(name = "ids", in = ParameterIn.QUERY, description = "Comma separated Product IDs, e.g. 1,2,3")
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<List<BatchItemDtoV1<ProductResponseDtoV1>>> getProducts(@RequestParam final List<Long> ids, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ProductResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            final Map<Long, Map<String, Object>> rows = productService.getProducts(batchGetLimit.check(ids), fieldset.project(ProductResponseDtoV1.FIELDS));
+            return ResponseEntity.ok(BatchItemDtoV1.from(ids, rows, ProductResponseDtoV1::from));
+        }
+
+        final Map<Long, Produto> products = productService.getProducts(batchGetLimit.check(ids));
+        final List<BatchItemDtoV1<ProductResponseDtoV1>> response = BatchItemDtoV1.from(ids, products, ProductResponseDtoV1::from);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping(path = "/{id}")
     @Operation(summary = "Get Product by ID")
     @Parameter(name = "id", in = ParameterIn.PATH, description = "Product ID")
-    public ResponseEntity<ProductResponseDtoV1> getProduct(@PathVariable final Long id) {
+    @Parameter(name = SparseFieldset.PARAM, in = ParameterIn.QUERY, description = SparseFieldset.DESCRIPTION)
+    public ResponseEntity<ProductResponseDtoV1> getProduct(@PathVariable final Long id, @RequestParam(name = SparseFieldset.PARAM, required = false) final String fields) {
+        final SparseFieldset fieldset = SparseFieldset.parse(fields, ProductResponseDtoV1.FIELDS.keySet());
+        if (!fieldset.isAll()) {
+            return ResponseEntity.ok(ProductResponseDtoV1.from(productService.getProduct(id, fieldset.project(ProductResponseDtoV1.FIELDS))));
+        }
+
         final Produto produto = productService.getProduct(id);
         final ProductResponseDtoV1 response = ProductResponseDtoV1.from(produto);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(path = "/{id}" + STOCK)
+    @Operation(summary = "Get Product stock in the store (X-Store-Id)")
+    @Parameter(name = "id", in = ParameterIn.PATH, description = "Product ID")
+    public ResponseEntity<StockResponseDtoV1> getStock(@PathVariable final Long id) {
+        productService.getProduct(id);
+        final StockResponseDtoV1 response = StockResponseDtoV1.from(id, stockService.available(StoreContext.store(), id));
+        return ResponseEntity.ok(response);
+    }
+
+    // Sugestões vêm só da memória: produto inexistente ou sem histórico devolve lista vazia, sem consultar o banco
+    @GetMapping(path = "/{id}" + SUGGESTIONS)
+    @Operation(summary = "Get Products frequently bought together with a Product")
+    @Parameter(name = "id", in = ParameterIn.PATH, description = "Product ID")
+    @Parameter(name = "limit", in = ParameterIn.QUERY, description = "Max suggestions, up to " + SuggestionService.MAX_LIMIT)
+    public ResponseEntity<List<ProductSuggestionDtoV1>> getSuggestions(@PathVariable final Long id,
+                                                                       @RequestParam(defaultValue = "5") final int limit) {
+        return ResponseEntity.ok(ProductSuggestionDtoV1.from(suggestionService.suggestions(List.of(id), limit)));
+    }
+
+    @GetMapping(path = SUGGESTIONS)
+    @Operation(summary = "Get Products frequently bought together with a basket")
+    @Parameter(name = "ids", in = ParameterIn.QUERY, description = "Comma separated Product IDs in the basket, e.g. 2,6")
+    @Parameter(name = "limit", in = ParameterIn.QUERY, description = "Max suggestions, up to " + SuggestionService.MAX_LIMIT)
+    public ResponseEntity<List<ProductSuggestionDtoV1>> getBasketSuggestions(@RequestParam final List<Long> ids,
+                                                                             @RequestParam(defaultValue = "5") final int limit) {
+        return ResponseEntity.ok(ProductSuggestionDtoV1.from(suggestionService.suggestions(batchGetLimit.check(ids), limit)));
+    }
+
+    @PostMapping(path = "/{id}" + STOCK)
+    @Operation(summary = "Add (or remove, if negative) Product stock in the store (X-Store-Id)")
+    @Parameter(name = "id", in = ParameterIn.PATH, description = "Product ID")
+    public ResponseEntity<StockResponseDtoV1> addStock(@PathVariable final Long id, @RequestBody @Valid final StockEntryDtoV1 stockEntryDto) {
+        productService.getProduct(id);
+        final long available = stockService.addStock(StoreContext.store(), id, stockEntryDto.quantidade());
+        final StockResponseDtoV1 response = new StockResponseDtoV1(id, true, available);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping
     @Operation(summary = "Create Product")
     public ResponseEntity<ProductResponseDtoV1> createProduct(@RequestBody @Valid final ProductDtoV1 productDto) {
@@ -0,0 +1,12 @@
+package br.com.aex.api.dto.batch;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record BatchGetDtoV1(
+        @NotEmpty(message = "Informe ao menos um id")
+        List<@NotNull Long> ids
+) {
+}
@@ -0,0 +1,25 @@
+package br.com.aex.api.dto.batch;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public record BatchItemDtoV1<T>(
+        Long id,
+        boolean found,
+        T data
+) {
+
+    /**
+     * Monta a resposta na ordem dos ids pedidos, marcando os que não foram encontrados.
+     */
+    public static <E, T> List<BatchItemDtoV1<T>> from(final List<Long> ids, final Map<Long, E> found, final Function<E, T> mapper) {
+        return ids.stream().map(id -> {
+            final E entity = found.get(id);
+            return entity != null
+                    ? new BatchItemDtoV1<>(id, true, mapper.apply(entity))
+                    : new BatchItemDtoV1<T>(id, false, null);
+        }).toList();
+    }
+
+}
@@ -1,18 +1,52 @@
 package br.com.aex.api.dto.client;
 
+import br.com.aex.api.SparseFieldset;
 import br.com.aex.entity.Cliente;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@JsonFilter(SparseFieldset.FILTER_ID)
 public record ClientResponseDtoV1(
         Long id,
         String nome,
-        String telefone
+        String telefone,
+        Long totalPedidos,
+        BigDecimal totalGasto,
+        LocalDateTime ultimoPedido
 ) {
 
+    // campo do JSON -> atributo de Cliente, usado na projeção de ?fields=
+    public static final Map<String, String> FIELDS = SparseFieldset.columns(
+            "id", "id",
+            "nome", "nome",
+            "telefone", "telefone",
+            "total_pedidos", "totalPedidos",
+            "total_gasto", "totalGasto",
+            "ultimo_pedido", "ultimoPedido"
+    );
+
     public static ClientResponseDtoV1 from(final Cliente client) {
         return new ClientResponseDtoV1(
                 client.getId(),
                 client.getNome(),
-                client.getTelefone()
+                client.getTelefone(),
+                client.getTotalPedidos(),
+                client.getTotalGasto(),
+                client.getUltimoPedido()
+        );
+    }
+
+    public static ClientResponseDtoV1 from(final Map<String, Object> row) {
+        return new ClientResponseDtoV1(
+                (Long) row.get("id"),
+                (String) row.get("nome"),
+                (String) row.get("telefone"),
+                (Long) row.get("total_pedidos"),
+                (BigDecimal) row.get("total_gasto"),
+                (LocalDateTime) row.get("ultimo_pedido")
         );
     }
 
@@ -1,5 +1,6 @@
 package br.com.aex.api.dto.complete_order;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -10,6 +11,13 @@ import java.util.List;
 
 @Data
 public class CompleteOrderDtoV1 {
+
+    // Preenchidos na resposta: id do pedido e número exibido ao cliente
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long id;
+
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer numero;
     
     @NotNull(message = "Cliente ID é obrigatório")
     @Positive(message = "Cliente ID deve ser positivo")
@@ -22,6 +30,9 @@ public class CompleteOrderDtoV1 {
     @NotNull(message = "Total é obrigatório")
     @Positive(message = "Total deve ser positivo")
     private BigDecimal total;
+
+    // Opcional: DINHEIRO quando não informado
+    private String formaPagamento;
     
     @Data
     public static class OrderItemDto {
@@ -1,14 +1,22 @@
 package br.com.aex.api.dto.order;
 
+import br.com.aex.api.SparseFieldset;
 import br.com.aex.entity.Pedido;
+import br.com.aex.entity.PedidoRejeitado;
+import br.com.aex.service.OrderIntakeService;
+import com.fasterxml.jackson.annotation.JsonFilter;
 import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
+@JsonFilter(SparseFieldset.FILTER_ID)
 public record OrderDtoV1(
+        Integer numero,
+
         @Positive
         @NotNull
         Long clientId,
@@ -21,11 +29,38 @@ public record OrderDtoV1(
         BigDecimal valor
 ) {
 
+    // campo do JSON -> atributo de Pedido, usado na projeção de ?fields=
+    public static final Map<String, String> FIELDS = SparseFieldset.columns(
+            "numero", "numero",
+            "client_id", "cliente.id",
+            "status", "status",
+            "valor", "valor"
+    );
+
     public static OrderDtoV1 from(Pedido order) {
         return new OrderDtoV1(
+                order.getNumero(),
                 order.getCliente().getId(),
                 order.getStatus(),
                 order.getValor()
         );
     }
-}
\ No newline at end of file
+
+    public static OrderDtoV1 from(PedidoRejeitado order) {
+        return new OrderDtoV1(
+                order.getNumero(),
+                order.getClienteId(),
+                OrderIntakeService.STATUS_REJEITADO,
+                order.getValor()
+        );
+    }
+
+    public static OrderDtoV1 from(Map<String, Object> row) {
+        return new OrderDtoV1(
+                (Integer) row.get("numero"),
+                (Long) row.get("client_id"),
+                (String) row.get("status"),
+                (BigDecimal) row.get("valor")
+        );
+    }
+}
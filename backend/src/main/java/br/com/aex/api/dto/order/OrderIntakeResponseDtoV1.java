@@ -0,0 +1,16 @@
+package br.com.aex.api.dto.order;
+
+public record OrderIntakeResponseDtoV1(
+        Long id,
+        Integer numero,
+        String status
+) {
+
+    private static final String STATUS_RECEBIDO = "RECEBIDO";
+
+    // O pedido pode já ter sido gravado pelo writer quando a resposta é montada; o status do aceite é sempre RECEBIDO
+    public static OrderIntakeResponseDtoV1 accepted(Long id, Integer numero) {
+        return new OrderIntakeResponseDtoV1(id, numero, STATUS_RECEBIDO);
+    }
+
+}
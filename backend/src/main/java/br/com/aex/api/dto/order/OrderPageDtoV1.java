@@ -0,0 +1,12 @@
+package br.com.aex.api.dto.order;
+
+import java.util.List;
+
+/**
+ * Página da busca de pedidos. {@code nextCursor} é nulo na última página.
+ */
+public record OrderPageDtoV1(
+        List<OrderSummaryDtoV1> orders,
+        String nextCursor
+) {
+}
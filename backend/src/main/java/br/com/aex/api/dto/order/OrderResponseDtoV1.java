@@ -1,21 +1,37 @@
 package br.com.aex.api.dto.order;
 
+import br.com.aex.api.SparseFieldset;
 import br.com.aex.entity.Pedido;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
 
+@JsonFilter(SparseFieldset.FILTER_ID)
 public record OrderResponseDtoV1(
         Long id,
+        Integer numero,
         Long clientId,
         LocalDateTime createdAt,
         String status,
         BigDecimal valor
 ) {
 
+    // campo do JSON -> atributo de Pedido, usado na projeção de ?fields=
+    public static final Map<String, String> FIELDS = SparseFieldset.columns(
+            "id", "id",
+            "numero", "numero",
+            "client_id", "cliente.id",
+            "created_at", "dataCriacao",
+            "status", "status",
+            "valor", "valor"
+    );
+
     public static OrderResponseDtoV1 from(Pedido order) {
         return new OrderResponseDtoV1(
                 order.getId(),
+                order.getNumero(),
                 order.getCliente().getId(),
                 order.getDataCriacao(),
                 order.getStatus(),
@@ -23,4 +39,15 @@ public record OrderResponseDtoV1(
         );
     }
 
+    public static OrderResponseDtoV1 from(Map<String, Object> row) {
+        return new OrderResponseDtoV1(
+                (Long) row.get("id"),
+                (Integer) row.get("numero"),
+                (Long) row.get("client_id"),
+                (LocalDateTime) row.get("created_at"),
+                (String) row.get("status"),
+                (BigDecimal) row.get("valor")
+        );
+    }
+
 }
@@ -0,0 +1,17 @@
+package br.com.aex.api.dto.order;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+
+/**
+ * Status que um pedido gravado pode ter. RECEBIDO e REJEITADO só existem para pedidos da recepção assíncrona
+ * ainda não gravados ou recusados, e não são aceitos aqui.
+ */
+public record OrderStatusDtoV1(
+        @NotBlank(message = "O status do pedido é obrigatório")
+        @Pattern(regexp = OrderStatusDtoV1.STATUSES, message = "Status inválido; use um de: " + OrderStatusDtoV1.STATUSES)
+        String status
+) {
+
+    public static final String STATUSES = "PENDENTE|EM_ANDAMENTO|FINALIZADO|CANCELADO";
+}
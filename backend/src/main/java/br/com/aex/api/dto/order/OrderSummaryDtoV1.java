@@ -0,0 +1,28 @@
+package br.com.aex.api.dto.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+public record OrderSummaryDtoV1(
+        Long id,
+        Integer numero,
+        Long clientId,
+        LocalDateTime createdAt,
+        String status,
+        BigDecimal valor,
+        Long itemCount
+) {
+
+    public static OrderSummaryDtoV1 from(Map<String, Object> row) {
+        return new OrderSummaryDtoV1(
+                (Long) row.get("id"),
+                (Integer) row.get("numero"),
+                (Long) row.get("client_id"),
+                (LocalDateTime) row.get("created_at"),
+                (String) row.get("status"),
+                (BigDecimal) row.get("valor"),
+                (Long) row.get("item_count")
+        );
+    }
+}
@@ -1,11 +1,16 @@
 package br.com.aex.api.dto.product;
 
+import br.com.aex.api.SparseFieldset;
 import br.com.aex.entity.Produto;
+import br.com.aex.model.CategoryEnum;
+import com.fasterxml.jackson.annotation.JsonFilter;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+@JsonFilter(SparseFieldset.FILTER_ID)
 public record ProductResponseDtoV1(
         Long id,
         String nome,
@@ -14,6 +19,15 @@ public record ProductResponseDtoV1(
         String nomeCategoria
 ) {
 
+    // campo do JSON -> atributo de Produto, usado na projeção de ?fields=
+    public static final Map<String, String> FIELDS = SparseFieldset.columns(
+            "id", "id",
+            "nome", "nome",
+            "descricao", "descricao",
+            "preco_venda", "precoVenda",
+            "nome_categoria", "categoria.nome"
+    );
+
     public static ProductResponseDtoV1 from(final Produto product) {
         return new ProductResponseDtoV1(
                 product.getId(),
@@ -36,4 +50,15 @@ public record ProductResponseDtoV1(
         ).toList();
     }
 
+    public static ProductResponseDtoV1 from(final Map<String, Object> row) {
+        final CategoryEnum categoria = (CategoryEnum) row.get("nome_categoria");
+        return new ProductResponseDtoV1(
+                (Long) row.get("id"),
+                (String) row.get("nome"),
+                (String) row.get("descricao"),
+                (BigDecimal) row.get("preco_venda"),
+                Objects.nonNull(categoria) ? categoria.name() : null
+        );
+    }
+
 }
@@ -0,0 +1,20 @@
+package br.com.aex.api.dto.product;
+
+import br.com.aex.service.suggestion.CoOccurrenceMatrix;
+
+import java.util.List;
+
+/**
+ * Produto sugerido e em quantos pedidos ele apareceu junto dos produtos consultados.
+ */
+public record ProductSuggestionDtoV1(
+        Long productId,
+        int pedidos
+) {
+
+    public static List<ProductSuggestionDtoV1> from(final List<CoOccurrenceMatrix.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(suggestion -> new ProductSuggestionDtoV1(suggestion.productId(), suggestion.orders()))
+                .toList();
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.aex.api.dto.stock;
+
+import jakarta.validation.constraints.NotNull;
+
+// Entrada de estoque; negativa para baixas (perdas, correções)
+public record StockEntryDtoV1(
+        @NotNull(message = "A quantidade é obrigatória")
+        Long quantidade
+) {
+
+}
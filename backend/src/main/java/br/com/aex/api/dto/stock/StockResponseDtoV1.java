@@ -0,0 +1,16 @@
+package br.com.aex.api.dto.stock;
+
+import java.util.Optional;
+
+public record StockResponseDtoV1(
+        Long productId,
+        boolean controlado,
+        Long disponivel
+) {
+
+    // Produto sem controle de estoque na loja: sempre disponível
+    public static StockResponseDtoV1 from(Long productId, Optional<Long> available) {
+        return new StockResponseDtoV1(productId, available.isPresent(), available.orElse(null));
+    }
+
+}
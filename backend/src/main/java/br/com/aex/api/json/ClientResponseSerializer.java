@@ -0,0 +1,38 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.dto.client.ClientResponseDtoV1;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+
+import java.io.IOException;
+
+final class ClientResponseSerializer extends RecordSerializer<ClientResponseDtoV1> {
+
+    private final SerializableString id;
+    private final SerializableString nome;
+    private final SerializableString telefone;
+    private final SerializableString totalPedidos;
+    private final SerializableString totalGasto;
+    private final SerializableString ultimoPedido;
+
+    ClientResponseSerializer(final PropertyNames names, final JsonSerializer<?> fallback) {
+        super(ClientResponseDtoV1.class, fallback);
+        this.id = names.of("id");
+        this.nome = names.of("nome");
+        this.telefone = names.of("telefone");
+        this.totalPedidos = names.of("totalPedidos");
+        this.totalGasto = names.of("totalGasto");
+        this.ultimoPedido = names.of("ultimoPedido");
+    }
+
+    @Override
+    protected void writeFields(final ClientResponseDtoV1 value, final JsonGenerator gen) throws IOException {
+        write(gen, id, value.id());
+        write(gen, nome, value.nome());
+        write(gen, telefone, value.telefone());
+        write(gen, totalPedidos, value.totalPedidos());
+        write(gen, totalGasto, value.totalGasto());
+        write(gen, ultimoPedido, value.ultimoPedido());
+    }
+}
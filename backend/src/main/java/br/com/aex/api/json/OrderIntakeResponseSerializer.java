@@ -0,0 +1,29 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.dto.order.OrderIntakeResponseDtoV1;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+
+import java.io.IOException;
+
+final class OrderIntakeResponseSerializer extends RecordSerializer<OrderIntakeResponseDtoV1> {
+
+    private final SerializableString id;
+    private final SerializableString numero;
+    private final SerializableString status;
+
+    OrderIntakeResponseSerializer(final PropertyNames names, final JsonSerializer<?> fallback) {
+        super(OrderIntakeResponseDtoV1.class, fallback);
+        this.id = names.of("id");
+        this.numero = names.of("numero");
+        this.status = names.of("status");
+    }
+
+    @Override
+    protected void writeFields(final OrderIntakeResponseDtoV1 value, final JsonGenerator gen) throws IOException {
+        write(gen, id, value.id());
+        write(gen, numero, value.numero());
+        write(gen, status, value.status());
+    }
+}
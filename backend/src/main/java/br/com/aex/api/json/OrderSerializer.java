@@ -0,0 +1,32 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.dto.order.OrderDtoV1;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+
+import java.io.IOException;
+
+final class OrderSerializer extends RecordSerializer<OrderDtoV1> {
+
+    private final SerializableString numero;
+    private final SerializableString clientId;
+    private final SerializableString status;
+    private final SerializableString valor;
+
+    OrderSerializer(final PropertyNames names, final JsonSerializer<?> fallback) {
+        super(OrderDtoV1.class, fallback);
+        this.numero = names.of("numero");
+        this.clientId = names.of("clientId");
+        this.status = names.of("status");
+        this.valor = names.of("valor");
+    }
+
+    @Override
+    protected void writeFields(final OrderDtoV1 value, final JsonGenerator gen) throws IOException {
+        write(gen, numero, value.numero());
+        write(gen, clientId, value.clientId());
+        write(gen, status, value.status());
+        write(gen, valor, value.valor());
+    }
+}
@@ -0,0 +1,35 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.dto.product.ProductResponseDtoV1;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+
+import java.io.IOException;
+
+final class ProductResponseSerializer extends RecordSerializer<ProductResponseDtoV1> {
+
+    private final SerializableString id;
+    private final SerializableString nome;
+    private final SerializableString descricao;
+    private final SerializableString precoVenda;
+    private final SerializableString nomeCategoria;
+
+    ProductResponseSerializer(final PropertyNames names, final JsonSerializer<?> fallback) {
+        super(ProductResponseDtoV1.class, fallback);
+        this.id = names.of("id");
+        this.nome = names.of("nome");
+        this.descricao = names.of("descricao");
+        this.precoVenda = names.of("precoVenda");
+        this.nomeCategoria = names.of("nomeCategoria");
+    }
+
+    @Override
+    protected void writeFields(final ProductResponseDtoV1 value, final JsonGenerator gen) throws IOException {
+        write(gen, id, value.id());
+        write(gen, nome, value.nome());
+        write(gen, descricao, value.descricao());
+        write(gen, precoVenda, value.precoVenda());
+        write(gen, nomeCategoria, value.nomeCategoria());
+    }
+}
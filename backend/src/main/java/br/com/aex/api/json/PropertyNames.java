@@ -0,0 +1,26 @@
+package br.com.aex.api.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.PropertyNamingStrategy;
+import com.fasterxml.jackson.databind.SerializationConfig;
+
+/**
+ * Nomes dos campos no JSON já traduzidos pela estratégia de nomes configurada
+ * ({@code spring.jackson.property-naming-strategy}) e pré-codificados: o gerador copia os bytes prontos,
+ * sem traduzir nem escapar o nome a cada resposta.
+ */
+public final class PropertyNames {
+
+    private final PropertyNamingStrategy strategy;
+
+    PropertyNames(final SerializationConfig config) {
+        this.strategy = config.getPropertyNamingStrategy();
+    }
+
+    public SerializableString of(final String javaName) {
+        final String name = strategy instanceof PropertyNamingStrategies.NamingBase naming ? naming.translate(javaName) : javaName;
+        return new SerializedString(name);
+    }
+}
@@ -0,0 +1,131 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.SparseFieldset;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Serializador escrito para um DTO específico: acessa os componentes do record diretamente e escreve
+ * campo a campo no gerador, com os nomes pré-codificados de {@link PropertyNames}. Sem reflexão, sem
+ * {@code BeanPropertyWriter} por campo e sem árvore intermediária.
+ * <p>
+ * Quando a requisição pede um subconjunto de campos ({@code ?fields=}), delega para o serializador padrão
+ * do Jackson, que aplica o filtro {@link SparseFieldset#FILTER_ID}. O Jackson só resolve e contextualiza o
+ * serializador que recebe, então este repassa as duas etapas ao padrão; sem isso ele ficaria sem os
+ * serializadores de cada campo (os nulos, por exemplo, seriam omitidos).
+ */
+public abstract class RecordSerializer<T> extends StdSerializer<T> implements ResolvableSerializer, ContextualSerializer, Cloneable {
+
+    private JsonSerializer<Object> fallback;
+
+    @SuppressWarnings("unchecked")
+    protected RecordSerializer(final Class<T> type, final JsonSerializer<?> fallback) {
+        super(type);
+        this.fallback = (JsonSerializer<Object>) fallback;
+    }
+
+    protected abstract void writeFields(T value, JsonGenerator gen) throws IOException;
+
+    @Override
+    public void resolve(final SerializerProvider provider) throws JsonMappingException {
+        if (fallback instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public JsonSerializer<?> createContextual(final SerializerProvider provider, final BeanProperty property) throws JsonMappingException {
+        final JsonSerializer<?> contextual = provider.handlePrimaryContextualization(fallback, property);
+        if (contextual == fallback) {
+            return this;
+        }
+        // Cópia com o fallback contextualizado: este serializador é compartilhado pelo cache do Jackson
+        try {
+            final RecordSerializer<T> copy = (RecordSerializer<T>) clone();
+            copy.fallback = (JsonSerializer<Object>) contextual;
+            return copy;
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public final void serialize(final T value, final JsonGenerator gen, final SerializerProvider provider) throws IOException {
+        if (!serializesAll(value, provider)) {
+            fallback.serialize(value, gen, provider);
+            return;
+        }
+        gen.writeStartObject(value);
+        writeFields(value, gen);
+        gen.writeEndObject();
+    }
+
+    private static boolean serializesAll(final Object value, final SerializerProvider provider) {
+        if (provider.getFilterProvider() == null) {
+            return true;
+        }
+        final PropertyFilter filter = provider.getFilterProvider().findPropertyFilter(SparseFieldset.FILTER_ID, value);
+        return filter == null || filter == SimpleBeanPropertyFilter.serializeAll();
+    }
+
+    protected static void write(final JsonGenerator gen, final SerializableString name, final Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    protected static void write(final JsonGenerator gen, final SerializableString name, final Integer value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    protected static void write(final JsonGenerator gen, final SerializableString name, final BigDecimal value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    protected static void write(final JsonGenerator gen, final SerializableString name, final String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    // Mesmo formato do Jackson com a configuração do Spring Boot (WRITE_DATES_AS_TIMESTAMPS desligado): ISO, sem fuso
+    protected static void write(final JsonGenerator gen, final SerializableString name, final LocalDateTime value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.dto.client.ClientResponseDtoV1;
+import br.com.aex.api.dto.order.OrderDtoV1;
+import br.com.aex.api.dto.order.OrderIntakeResponseDtoV1;
+import br.com.aex.api.dto.product.ProductResponseDtoV1;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Troca o serializador por reflexão do Jackson pelos {@link RecordSerializer} dos DTOs mais servidos
+ * (cardápio, cliente, pedido e aceite assíncrono). Registrado no ObjectMapper do JSON e do CBOR.
+ * <p>
+ * O serializador padrão continua sendo montado e fica como fallback para {@code ?fields=}; os nomes vêm da
+ * mesma configuração, então a saída é idêntica.
+ */
+public class RecordSerializerModule extends SimpleModule {
+
+    private static final Map<Class<?>, BiFunction<PropertyNames, JsonSerializer<?>, JsonSerializer<?>>> SERIALIZERS = Map.of(
+            ProductResponseDtoV1.class, ProductResponseSerializer::new,
+            ClientResponseDtoV1.class, ClientResponseSerializer::new,
+            OrderDtoV1.class, OrderSerializer::new,
+            OrderIntakeResponseDtoV1.class, OrderIntakeResponseSerializer::new
+    );
+
+    public RecordSerializerModule() {
+        super("aex-record-serializers");
+        setSerializerModifier(new BeanSerializerModifier() {
+            @Override
+            public JsonSerializer<?> modifySerializer(final SerializationConfig config, final BeanDescription beanDesc,
+                                                      final JsonSerializer<?> serializer) {
+                final BiFunction<PropertyNames, JsonSerializer<?>, JsonSerializer<?>> factory = SERIALIZERS.get(beanDesc.getBeanClass());
+                return factory != null ? factory.apply(new PropertyNames(config), serializer) : serializer;
+            }
+        });
+    }
+}
@@ -0,0 +1,110 @@
+package br.com.aex.api.profiling;
+
+import org.springframework.boot.actuate.autoconfigure.web.server.ConditionalOnManagementPort;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * Controle da {@link RollingRecording} em produção, sem reiniciar a instância nem anexar ferramentas. Quando um pico
+ * de p99 acontece, basta baixar o dump e abrir no JDK Mission Control; os eventos {@code br.com.aex.*} mostram
+ * criação de pedidos, busca de clientes e leitura do cardápio com duração e comandos SQL.
+ * <p>
+ * O endpoint não tem autenticação, então só existe quando o actuator roda numa porta separada
+ * ({@code management.server.port}), fora do alcance dos clientes da API, e ainda precisa ser incluído em
+ * {@code management.endpoints.web.exposure.include}.
+ *
+ * <pre>
+ * GET    /actuator/jfr        estado da gravação
+ * POST   /actuator/jfr        inicia (sem efeito se já estiver gravando)
+ * DELETE /actuator/jfr        para e descarta
+ * GET    /actuator/jfr/dump   baixa um arquivo .jfr com a janela atual, sem parar a gravação
+ * </pre>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@ConditionalOnManagementPort(ManagementPortType.DIFFERENT)
+public class FlightRecorderEndpoint {
+
+    private static final String DUMP = "dump";
+
+    private final RollingRecording recording;
+
+    public FlightRecorderEndpoint(final RollingRecording recording) {
+        this.recording = recording;
+    }
+
+    @ReadOperation
+    public RollingRecording.Status status() {
+        return recording.status();
+    }
+
+    @WriteOperation
+    public RollingRecording.Status start() throws IOException, ParseException {
+        return recording.start();
+    }
+
+    @DeleteOperation
+    public RollingRecording.Status stop() {
+        return recording.stop();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector final String name) throws IOException {
+        if (!DUMP.equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        final Path file = Files.createTempFile(RollingRecording.NAME + "-", ".jfr");
+        try {
+            if (!recording.dump(file)) {
+                Files.deleteIfExists(file);
+                return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new TemporaryFileResource(file));
+    }
+
+    /**
+     * Arquivo de dump apagado assim que a resposta termina de ser enviada.
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path path;
+
+        private TemporaryFileResource(final Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.aex.api.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Gravação contínua do Java Flight Recorder.
+ *
+ * @param startOnStartup inicia a gravação na subida, sem esperar um {@code POST /actuator/jfr} na porta de gerenciamento
+ * @param settings       configuração do JFR ({@code default}, com ~1% de overhead, ou {@code profile})
+ * @param maxAge         janela mantida: eventos mais antigos são descartados
+ * @param maxSize        limite em disco da gravação; o que vier primeiro entre idade e tamanho vale
+ */
+@ConfigurationProperties("aex.jfr")
+public record FlightRecorderProperties(
+        boolean startOnStartup,
+        String settings,
+        Duration maxAge,
+        DataSize maxSize
+) {
+
+    public FlightRecorderProperties {
+        settings = settings != null ? settings : "default";
+        maxAge = maxAge != null ? maxAge : Duration.ofMinutes(10);
+        maxSize = maxSize != null ? maxSize : DataSize.ofMegabytes(100);
+    }
+}
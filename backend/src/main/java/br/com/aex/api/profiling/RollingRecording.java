@@ -0,0 +1,111 @@
+package br.com.aex.api.profiling;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Gravação JFR contínua e circular: guarda só os últimos {@code aex.jfr.max-age} / {@code aex.jfr.max-size}.
+ * <p>
+ * Roda independente do endpoint {@code /actuator/jfr}, que só existe na porta de gerenciamento; sem ele, o dump
+ * sai por {@code jcmd <pid> JFR.dump name=aex-rolling filename=incidente.jfr}. Os eventos que copiam variáveis de
+ * ambiente, propriedades de sistema e argumentos da JVM ficam desligados, para o arquivo não carregar senhas e
+ * tokens de configuração.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+public class RollingRecording {
+
+    static final String NAME = "aex-rolling";
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation"
+    );
+
+    private final FlightRecorderProperties properties;
+    private Recording recording;
+
+    public RollingRecording(final FlightRecorderProperties properties) {
+        this.properties = properties;
+    }
+
+    public record Status(
+            boolean recording,
+            String settings,
+            Instant startedAt,
+            String maxAge,
+            long maxSizeBytes,
+            long sizeBytes
+    ) {
+    }
+
+    @PostConstruct
+    void startOnStartup() throws IOException, ParseException {
+        if (properties.startOnStartup()) {
+            start();
+        }
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    public synchronized Status status() {
+        final boolean running = recording != null && recording.getState() == RecordingState.RUNNING;
+        return new Status(running, properties.settings(), running ? recording.getStartTime() : null,
+                properties.maxAge().toString(), properties.maxSize().toBytes(), running ? recording.getSize() : 0);
+    }
+
+    public synchronized Status start() throws IOException, ParseException {
+        if (recording == null) {
+            final Recording started = new Recording(Configuration.getConfiguration(properties.settings()));
+            started.setName(NAME);
+            started.setToDisk(true);
+            started.setMaxAge(properties.maxAge());
+            started.setMaxSize(properties.maxSize().toBytes());
+            SENSITIVE_EVENTS.forEach(started::disable);
+            started.start();
+            recording = started;
+            log.info("Gravação JFR iniciada ({}, últimos {} / {})", properties.settings(), properties.maxAge(), properties.maxSize());
+        }
+        return status();
+    }
+
+    public synchronized Status stop() {
+        if (recording != null) {
+            close();
+            log.info("Gravação JFR encerrada");
+        }
+        return status();
+    }
+
+    /**
+     * Grava a janela atual em {@code file}, sem parar a gravação.
+     *
+     * @return {@code false} se não houver gravação em andamento
+     */
+    public synchronized boolean dump(final Path file) throws IOException {
+        if (recording == null) {
+            return false;
+        }
+        recording.dump(file);
+        return true;
+    }
+}
@@ -0,0 +1,91 @@
+package br.com.aex.api.warmup;
+
+import br.com.aex.repository.shard.StoreContext;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+
+/**
+ * Executa as requisições do aquecimento numa transação marcada para rollback: o pedido, o pagamento e o
+ * outbox gravados pelo create_order são descartados ao fim da requisição.
+ * <p>
+ * Só age enquanto o aquecimento está aberto e para requisições com o token gerado na subida, que nunca sai do
+ * processo. Roda depois do vínculo de loja e do bulkhead, para a transação abrir a conexão no shard e no pool certos.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class WarmupFilter extends OncePerRequestFilter {
+
+    public static final String TOKEN_HEADER = "X-Warmup-Token";
+
+    // Cliente só existe dentro da transação do aquecimento; id fora do alcance da sequence
+    public static final long CLIENT_ID = Long.MAX_VALUE;
+    public static final String CLIENT_TELEPHONE = "00000000000";
+
+    private final TransactionTemplate transactionTemplate;
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile byte[] token;
+
+    public WarmupFilter(final TransactionTemplate transactionTemplate, final DataSource dataSource) {
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    String open() {
+        final byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        final String value = HexFormat.of().formatHex(random);
+        token = value.getBytes(StandardCharsets.UTF_8);
+        return value;
+    }
+
+    void close() {
+        token = null;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request) {
+        final byte[] expected = token;
+        final String header = request.getHeader(TOKEN_HEADER);
+        return expected == null || header == null || !MessageDigest.isEqual(expected, header.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final Exception failure = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            if (StoreContext.store() != null) {
+                jdbcTemplate.update("insert into cliente (id, loja_id, nome, telefone) values (?, ?, ?, ?)",
+                        CLIENT_ID, StoreContext.store(), "Aquecimento", CLIENT_TELEPHONE);
+            }
+            try {
+                filterChain.doFilter(request, response);
+                return null;
+            } catch (IOException | ServletException e) {
+                return e;
+            }
+        });
+        if (failure instanceof IOException e) {
+            throw e;
+        }
+        if (failure instanceof ServletException e) {
+            throw e;
+        }
+    }
+}
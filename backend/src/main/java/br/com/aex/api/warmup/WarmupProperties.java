@@ -0,0 +1,40 @@
+package br.com.aex.api.warmup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Aquecimento na subida da aplicação.
+ *
+ * @param enabled           executa o aquecimento antes de declarar a instância pronta
+ * @param store             loja reservada para o aquecimento: os pedidos de teste não consomem a numeração das lojas reais
+ * @param requestsPerRound  requisições de cada rota por rodada
+ * @param minRounds         rodadas mínimas, mesmo que a compilação pareça estável antes
+ * @param window            rodadas comparadas para decidir se a compilação assentou
+ * @param jitThreshold      fração máxima do tempo da janela gasta pelo JIT para considerá-la estável
+ * @param plateau           queda mínima do tempo da janela em relação à anterior para continuar aquecendo
+ * @param maxDuration       limite do aquecimento; ao atingi-lo a instância fica pronta mesmo sem estabilizar
+ */
+@ConfigurationProperties("aex.warmup")
+public record WarmupProperties(
+        boolean enabled,
+        Long store,
+        int requestsPerRound,
+        int minRounds,
+        int window,
+        double jitThreshold,
+        double plateau,
+        Duration maxDuration
+) {
+
+    public WarmupProperties {
+        store = store != null ? store : 9999L;
+        requestsPerRound = requestsPerRound > 0 ? requestsPerRound : 20;
+        minRounds = Math.max(1, minRounds);
+        window = window > 0 ? window : 5;
+        jitThreshold = jitThreshold > 0 ? jitThreshold : 0.05;
+        plateau = plateau > 0 ? plateau : 0.03;
+        maxDuration = maxDuration != null ? maxDuration : Duration.ofSeconds(30);
+    }
+}
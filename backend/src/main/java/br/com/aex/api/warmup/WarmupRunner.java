@@ -0,0 +1,221 @@
+package br.com.aex.api.warmup;
+
+import br.com.aex.api.Endpoints;
+import br.com.aex.api.StoreContextFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Aquece a instância antes de ela receber tráfego.
+ * <p>
+ * Os runners rodam antes de o Spring Boot declarar a aplicação pronta ({@link ReadinessState#ACCEPTING_TRAFFIC}),
+ * então {@code /actuator/health/readiness} responde 503 até o aquecimento terminar. Enquanto isso, rodadas de
+ * requisições reais pelo loopback passam por Tomcat, filtros, Spring MVC, Jackson, Hibernate e pools de conexões
+ * nas rotas mais quentes: cardápio, busca de cliente por telefone e create_order. As requisições de loja usam a
+ * loja reservada do aquecimento e uma transação descartada ({@link WarmupFilter}).
+ * <p>
+ * O aquecimento termina quando a compilação assenta (o JIT passa uma janela de rodadas quase sem compilar, ou o
+ * tempo das rodadas para de cair), ou no limite de tempo.
+ * Duração, rodadas, tempo de compilação e a latência média da primeira e da última rodada de cada rota ficam
+ * nas métricas {@code aex.warmup.*}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Pattern FIRST_PRODUCT = Pattern.compile("\\{\"id\":(\\d+),.*?\"preco_venda\":([0-9.]+)");
+
+    private final WarmupProperties properties;
+    private final WarmupFilter warmupFilter;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    public WarmupRunner(final WarmupProperties properties, final WarmupFilter warmupFilter,
+                        final ApplicationContext applicationContext, final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.warmupFilter = warmupFilter;
+        this.applicationContext = applicationContext;
+        this.meterRegistry = meterRegistry;
+    }
+
+    private record Route(String name, HttpRequest request) {
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        if (!properties.enabled() || !(applicationContext instanceof WebServerApplicationContext web) || web.getWebServer() == null) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(applicationContext, ReadinessState.REFUSING_TRAFFIC);
+
+        final String base = "http://localhost:" + web.getWebServer().getPort();
+        final String token = warmupFilter.open();
+        final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        try {
+            warmUp(http, base, token);
+        } catch (Exception e) {
+            // Aquecimento é otimização: uma falha não impede a instância de subir
+            log.warn("Aquecimento interrompido", e);
+        } finally {
+            warmupFilter.close();
+        }
+    }
+
+    private void warmUp(final HttpClient http, final String base, final String token) throws Exception {
+        final Route menu = new Route(Endpoints.V1_PRODUCT, get(base + Endpoints.V1_PRODUCT, token));
+        final Map<String, Route> routes = new LinkedHashMap<>();
+        routes.put(menu.name(), menu);
+        routes.put(Endpoints.V1_CLIENT + "/telephone",
+                new Route(Endpoints.V1_CLIENT + "/telephone", get(base + Endpoints.V1_CLIENT + "/telephone?telephone=" + WarmupFilter.CLIENT_TELEPHONE, token)));
+
+        // create_order precisa de um produto do cardápio
+        final Matcher product = FIRST_PRODUCT.matcher(http.send(menu.request(), HttpResponse.BodyHandlers.ofString()).body());
+        if (product.find()) {
+            final String body = "{\"cliente_id\":" + WarmupFilter.CLIENT_ID + ",\"itens\":[{\"produto_id\":" + product.group(1)
+                    + ",\"quantidade\":1}],\"total\":" + product.group(2) + ",\"forma_pagamento\":\"PIX\"}";
+            routes.put(Endpoints.V1_ORDER + "/create_order", new Route(Endpoints.V1_ORDER + "/create_order",
+                    request(base + Endpoints.V1_ORDER + "/create_order", token).header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body)).build()));
+        }
+
+        final CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        final boolean jitMonitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        final long jitStart = jitMonitored ? jit.getTotalCompilationTime() : 0;
+        final long start = System.nanoTime();
+        final long deadline = start + properties.maxDuration().toNanos();
+
+        final Map<String, Double> firstRound = new LinkedHashMap<>();
+        final Map<String, Double> lastRound = new LinkedHashMap<>();
+        final List<Long> roundNanos = new ArrayList<>();
+        final List<Long> roundJitMs = new ArrayList<>();
+        boolean settled = false;
+        while (System.nanoTime() < deadline) {
+            final long roundStart = System.nanoTime();
+            final long jitBefore = jitMonitored ? jit.getTotalCompilationTime() : 0;
+            for (Route route : routes.values()) {
+                final long routeStart = System.nanoTime();
+                for (int i = 0; i < properties.requestsPerRound(); i++) {
+                    final int status = http.send(route.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status >= 400) {
+                        throw new IllegalStateException(route.name() + " respondeu " + status + " no aquecimento");
+                    }
+                }
+                final double meanMs = (System.nanoTime() - routeStart) / 1e6 / properties.requestsPerRound();
+                firstRound.putIfAbsent(route.name(), meanMs);
+                lastRound.put(route.name(), meanMs);
+            }
+            roundNanos.add(System.nanoTime() - roundStart);
+            roundJitMs.add(jitMonitored ? jit.getTotalCompilationTime() - jitBefore : 0);
+
+            if (roundNanos.size() >= properties.minRounds() && settled(roundNanos, roundJitMs, jitMonitored)) {
+                settled = true;
+                break;
+            }
+        }
+        final int rounds = roundNanos.size();
+
+        final long elapsed = System.nanoTime() - start;
+        final long jitTotal = jitMonitored ? jit.getTotalCompilationTime() - jitStart : 0;
+        record(elapsed, rounds, jitTotal, settled, firstRound, lastRound);
+
+        final StringBuilder summary = new StringBuilder();
+        firstRound.forEach((route, first) -> summary.append(String.format("; %s %.1f ms -> %.1f ms", route, first, lastRound.get(route))));
+        log.info("Aquecimento {} em {} rodadas, {} ms (JIT {} ms){}", settled ? "estabilizou" : "atingiu o limite",
+                rounds, TimeUnit.NANOSECONDS.toMillis(elapsed), jitTotal, summary);
+    }
+
+    /**
+     * Compara as últimas {@code window} rodadas: estável se o JIT quase não compilou nelas, ou se o tempo das
+     * rodadas parou de cair em relação à janela anterior (o JIT compete com as requisições em máquinas com
+     * poucos núcleos e o tempo de compilação demora a zerar).
+     */
+    private boolean settled(final List<Long> roundNanos, final List<Long> roundJitMs, final boolean jitMonitored) {
+        final int window = properties.window();
+        if (roundNanos.size() < 2 * window) {
+            return false;
+        }
+        final int size = roundNanos.size();
+        final double current = sum(roundNanos, size - window, size);
+        final double previous = sum(roundNanos, size - 2 * window, size - window);
+        final double jitMs = sum(roundJitMs, size - window, size);
+
+        final boolean jitQuiet = jitMonitored && jitMs <= current / 1e6 * properties.jitThreshold();
+        final boolean plateau = current >= previous * (1 - properties.plateau());
+        return jitQuiet || plateau;
+    }
+
+    private static double sum(final List<Long> values, final int from, final int to) {
+        double total = 0;
+        for (int i = from; i < to; i++) {
+            total += values.get(i);
+        }
+        return total;
+    }
+
+    private void record(final long elapsedNanos, final int rounds, final long jitMs, final boolean settled,
+                        final Map<String, Double> firstRound, final Map<String, Double> lastRound) {
+        TimeGauge.builder("aex.warmup.duration", () -> elapsedNanos, TimeUnit.NANOSECONDS)
+                .description("Duração do aquecimento na subida")
+                .register(meterRegistry);
+        Gauge.builder("aex.warmup.rounds", () -> rounds)
+                .description("Rodadas de requisições do aquecimento")
+                .register(meterRegistry);
+        TimeGauge.builder("aex.warmup.jit", () -> jitMs, TimeUnit.MILLISECONDS)
+                .description("Tempo de compilação JIT durante o aquecimento")
+                .register(meterRegistry);
+        Gauge.builder("aex.warmup.settled", () -> settled ? 1 : 0)
+                .description("1 se a compilação estabilizou antes do limite de tempo")
+                .register(meterRegistry);
+        firstRound.forEach((route, first) -> {
+            latency(route, "first", first);
+            latency(route, "last", lastRound.get(route));
+        });
+    }
+
+    private void latency(final String route, final String round, final double millis) {
+        TimeGauge.builder("aex.warmup.latency", () -> millis, TimeUnit.MILLISECONDS)
+                .description("Latência média por requisição na primeira e na última rodada do aquecimento")
+                .tags("route", route, "round", round)
+                .register(meterRegistry);
+    }
+
+    private HttpRequest get(final String uri, final String token) {
+        return request(uri, token).GET().build();
+    }
+
+    private HttpRequest.Builder request(final String uri, final String token) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(10))
+                .header(WarmupFilter.TOKEN_HEADER, token)
+                .header(StoreContextFilter.STORE_HEADER, String.valueOf(properties.store()));
+    }
+}
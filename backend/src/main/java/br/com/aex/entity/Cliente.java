@@ -7,12 +7,19 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.TenantId;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
@@ -21,16 +28,35 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "cliente")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_cliente_loja_telefone", columnNames = {"loja_id", "telefone"}))
 public class Cliente {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cliente_seq")
+    @SequenceGenerator(name = "cliente_seq", sequenceName = "cliente_seq", allocationSize = 50)
     private long id;
     private String nome;
 
-    @Column(unique = true)
+    @TenantId
+    @Column(name = "loja_id", nullable = false, updatable = false)
+    private Long lojaId;
+
     private String telefone;
 
+    // Resumo dos pedidos, mantido pelo ClientSummaryService na transação de cada pedido: a entidade só grava os
+    // zeros iniciais. Sem @Generated, o insert não precisa de "returning" e o Postgres pode reescrever o batch
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private long totalPedidos;
+
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false, updatable = false)
+    private BigDecimal totalGasto = BigDecimal.ZERO;
+
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime ultimoPedido;
+
     @OneToMany(mappedBy = "cliente", fetch = FetchType.LAZY)
     private List<Pedido> pedido;
 
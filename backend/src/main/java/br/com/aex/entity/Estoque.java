@@ -0,0 +1,44 @@
+package br.com.aex.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de um produto numa loja. Produtos sem registro aqui não têm controle de estoque.
+ * <p>
+ * A quantidade é mantida em memória pelo StockService e gravada aqui em lotes (write-behind);
+ * atualizadoEm marca o último flush e é usado para recuperar reservas não gravadas após um reinício.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "estoque")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_estoque_loja_produto", columnNames = {"loja_id", "produto_id"}))
+public class Estoque {
+
+    // Gravado só via JDBC (StockService), sem informar o id: continua identity, não entra nos batches do Hibernate
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @TenantId
+    @Column(name = "loja_id", nullable = false, updatable = false)
+    private Long lojaId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "produto_id", foreignKey = @ForeignKey(name = "fk_estoque_produto"))
+    private Produto produto;
+
+    private long quantidade;
+    private LocalDateTime atualizadoEm;
+
+}
@@ -0,0 +1,43 @@
+package br.com.aex.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Último número de pedido reservado por loja e dia de operação, atualizado via JDBC pelo OrderNumberAllocator.
+ * Cada instância reserva um bloco de números por vez, então a linha só é travada a cada bloco, não a cada pedido.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "numeracao_pedido")
+public class NumeracaoPedido {
+
+    @EmbeddedId
+    private Chave id;
+
+    private int ultimoNumero;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Embeddable
+    public static class Chave implements Serializable {
+
+        @Column(name = "loja_id")
+        private Long lojaId;
+
+        private LocalDate dataNegocio;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.aex.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Solicitação de pagamento gravada na mesma transação do pedido (transactional outbox).
+ * O envio ao meio de pagamento é feito depois, fora do fluxo do pedido.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "pagamento_outbox")
+@Table(indexes = @Index(name = "idx_pagamento_outbox_status", columnList = "status, proximaTentativa"))
+public class PagamentoOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagamento_outbox_seq")
+    @SequenceGenerator(name = "pagamento_outbox_seq", sequenceName = "pagamento_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "pagamento_id", foreignKey = @ForeignKey(name = "fk_pagamento_outbox_pagamento"))
+    private Pagamento pagamento;
+
+    private Long pedidoId;
+    private String status;
+    private int tentativas;
+    private LocalDateTime proximaTentativa;
+    private LocalDateTime criadoEm;
+
+    @Column(length = 500)
+    private String ultimoErro;
+
+}
@@ -1,13 +1,17 @@
 package br.com.aex.entity;
 
+import br.com.aex.entity.id.AssignableSequence;
+import br.com.aex.service.OrderCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,16 +21,32 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity(name = "pedido")
+@EntityListeners(OrderCacheInvalidationListener.class)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_pedido_loja_dia_numero", columnNames = {"loja_id", "data_negocio", "numero"}),
+        indexes = @Index(name = "ix_pedido_loja_criacao", columnList = "loja_id, data_criacao, id"))
 public class Pedido {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @AssignableSequence(name = "pedido_seq", allocationSize = 50)
     private Long id;
+
+    @TenantId
+    @Column(name = "loja_id", nullable = false, updatable = false)
+    private Long lojaId;
+
+    // Incrementada a cada alteração; usada como ETag nas consultas do pedido
+    @Version
+    private Long versao;
+
+    // Número exibido ao cliente, sequencial por loja dentro do dia de operação (dataNegocio)
+    private Integer numero;
+    private LocalDate dataNegocio;
+
     private LocalDateTime dataCriacao;
     private BigDecimal valor;
     private String status;
 
-    @OneToOne
+    @OneToOne(cascade = CascadeType.PERSIST)
     private Pagamento pagamento;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,59 @@
+package br.com.aex.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Pedido aceito pela recepção assíncrona (202) que não pôde ser gravado. Mantém o id reservado no aceite para
+ * o acompanhamento do pedido responder REJEITADO em vez de 404. Sem chaves estrangeiras: a gravação não pode
+ * falhar pelo mesmo motivo que o pedido.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity(name = "pedido_rejeitado")
+public class PedidoRejeitado {
+
+    @Id
+    private Long id;
+
+    @TenantId
+    @Column(name = "loja_id", nullable = false, updatable = false)
+    private Long lojaId;
+
+    private Integer numero;
+    private LocalDate dataNegocio;
+    private Long clienteId;
+    private BigDecimal valor;
+
+    @Column(length = 500)
+    private String motivo;
+    private LocalDateTime rejeitadoEm;
+
+    public static PedidoRejeitado of(final Pedido pedido, final Throwable cause) {
+        final String motivo = String.valueOf(cause.getMessage());
+        return PedidoRejeitado.builder()
+                .id(pedido.getId())
+                .lojaId(pedido.getLojaId())
+                .numero(pedido.getNumero())
+                .dataNegocio(pedido.getDataNegocio())
+                .clienteId(pedido.getCliente().getId())
+                .valor(pedido.getValor())
+                .motivo(motivo.length() > 500 ? motivo.substring(0, 500) : motivo)
+                .rejeitadoEm(LocalDateTime.now())
+                .build();
+    }
+}
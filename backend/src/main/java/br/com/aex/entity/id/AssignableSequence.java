@@ -0,0 +1,22 @@
+package br.com.aex.entity.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Identificador gerado por sequence que também aceita um valor já atribuído antes do persist.
+ * Usado quando o id precisa ser conhecido antes da entidade chegar ao banco (ex.: recepção assíncrona de pedidos).
+ */
+@IdGeneratorType(AssignableSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface AssignableSequence {
+
+    String name();
+
+    int allocationSize() default 1;
+}
@@ -0,0 +1,36 @@
+package br.com.aex.entity.id;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+public class AssignableSequenceGenerator extends SequenceStyleGenerator {
+
+    private final AssignableSequence config;
+
+    public AssignableSequenceGenerator(final AssignableSequence config) {
+        this.config = config;
+    }
+
+    @Override
+    public void configure(final Type type, final Properties parameters, final ServiceRegistry serviceRegistry) throws MappingException {
+        parameters.put(SEQUENCE_PARAM, config.name());
+        parameters.put(INCREMENT_PARAM, String.valueOf(config.allocationSize()));
+        super.configure(type, parameters, serviceRegistry);
+    }
+
+    @Override
+    public Object generate(final SharedSessionContractImplementor session, final Object object) {
+        final Object id = session.getEntityPersister(null, object).getIdentifier(object, session);
+        return id != null ? id : super.generate(session, object);
+    }
+
+    @Override
+    public boolean allowAssignedIdentifiers() {
+        return true;
+    }
+}
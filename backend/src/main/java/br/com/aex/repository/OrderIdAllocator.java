@@ -0,0 +1,36 @@
+package br.com.aex.repository;
+
+import br.com.aex.entity.Pedido;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reserva ids de {@link Pedido} usando o mesmo gerador do mapeamento, para que pedidos
+ * aceitos de forma assíncrona tenham id antes de serem gravados.
+ */
+@Component
+public class OrderIdAllocator {
+
+    private final SessionFactory sessionFactory;
+    private final BeforeExecutionGenerator generator;
+
+    public OrderIdAllocator(final EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.generator = (BeforeExecutionGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Pedido.class)
+                .getGenerator();
+    }
+
+    public Long nextId() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            return (Long) generator.generate((SharedSessionContractImplementor) session, new Pedido(), null, EventType.INSERT);
+        }
+    }
+}
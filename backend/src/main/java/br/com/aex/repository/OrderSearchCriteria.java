@@ -0,0 +1,22 @@
+package br.com.aex.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Filtros da busca de pedidos; atributos nulos não filtram.
+ *
+ * @param status   status exato do pedido
+ * @param from     data de criação mínima (inclusiva)
+ * @param to       data de criação máxima (exclusiva)
+ * @param clientId cliente do pedido
+ * @param minValue valor mínimo do pedido
+ */
+public record OrderSearchCriteria(
+        String status,
+        LocalDateTime from,
+        LocalDateTime to,
+        Long clientId,
+        BigDecimal minValue
+) {
+}
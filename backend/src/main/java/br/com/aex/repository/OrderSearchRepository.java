@@ -0,0 +1,104 @@
+package br.com.aex.repository;
+
+import br.com.aex.entity.ItemPedido;
+import br.com.aex.entity.Pedido;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Busca de pedidos paginada por keyset em (dataCriacao, id), do mais recente para o mais antigo.
+ * <p>
+ * Cada página parte da última linha da anterior ({@code dataCriacao < x or (dataCriacao = x and id < y)}), então o
+ * custo não cresce com a profundidade da paginação como num OFFSET. A quantidade de itens vem de uma subconsulta
+ * correlacionada na mesma consulta, sem carregar a coleção de itens de cada pedido.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderSearchRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * @param afterCreatedAt data de criação da última linha da página anterior, ou nulo na primeira página
+     * @param afterId        id da última linha da página anterior
+     * @return linhas com as chaves id, numero, client_id, created_at, status, valor e item_count
+     */
+    public List<Map<String, Object>> search(final OrderSearchCriteria criteria, final LocalDateTime afterCreatedAt,
+                                            final Long afterId, final int limit) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<Pedido> root = query.from(Pedido.class);
+        final Path<LocalDateTime> createdAt = root.get("dataCriacao");
+        final Path<Long> id = root.get("id");
+
+        final Subquery<Long> itemCount = query.subquery(Long.class);
+        final Root<ItemPedido> item = itemCount.from(ItemPedido.class);
+        itemCount.select(cb.count(item)).where(cb.equal(item.get("pedido"), root));
+
+        query.multiselect(
+                id.alias("id"),
+                root.get("numero").alias("numero"),
+                root.get("cliente").get("id").alias("client_id"),
+                createdAt.alias("created_at"),
+                root.get("status").alias("status"),
+                root.get("valor").alias("valor"),
+                itemCount.alias("item_count")
+        );
+
+        final List<Predicate> predicates = new ArrayList<>();
+        if (criteria.status() != null) {
+            predicates.add(cb.equal(root.get("status"), criteria.status()));
+        }
+        if (criteria.from() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(createdAt, criteria.from()));
+        }
+        if (criteria.to() != null) {
+            predicates.add(cb.lessThan(createdAt, criteria.to()));
+        }
+        if (criteria.clientId() != null) {
+            predicates.add(cb.equal(root.get("cliente").get("id"), criteria.clientId()));
+        }
+        if (criteria.minValue() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("valor"), criteria.minValue()));
+        }
+        if (afterCreatedAt != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(createdAt, afterCreatedAt),
+                    cb.and(cb.equal(createdAt, afterCreatedAt), cb.lessThan(id, afterId))
+            ));
+        }
+
+        query.where(predicates.toArray(Predicate[]::new));
+        query.orderBy(cb.desc(createdAt), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList()
+                .stream()
+                .map(OrderSearchRepository::toRow)
+                .toList();
+    }
+
+    private static Map<String, Object> toRow(final Tuple tuple) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.aex.repository;
+
+import br.com.aex.entity.PagamentoOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PagamentoOutboxRepository extends JpaRepository<PagamentoOutbox, Long> {
+
+    // SKIP LOCKED (timeout -2): várias instâncias podem despachar ao mesmo tempo sem pegar os mesmos registros
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @EntityGraph(attributePaths = "pagamento")
+    List<PagamentoOutbox> findByStatusInAndProximaTentativaLessThanEqualOrderById(Collection<String> status, LocalDateTime now, Limit limit);
+
+    // Só solicitações ainda não reservadas para envio podem ser canceladas
+    @Modifying
+    @Query("update pagamento_outbox o set o.status = :cancelado where o.pedidoId = :pedidoId and o.status = :pendente")
+    int cancel(Long pedidoId, String pendente, String cancelado);
+
+    long countByStatus(String status);
+}
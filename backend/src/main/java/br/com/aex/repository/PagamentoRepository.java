@@ -0,0 +1,9 @@
+package br.com.aex.repository;
+
+import br.com.aex.entity.Pagamento;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface PagamentoRepository extends JpaRepository<Pagamento, Long> {
+}
@@ -0,0 +1,100 @@
+package br.com.aex.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TupleElement;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Consultas que selecionam apenas os atributos pedidos, em vez da entidade inteira.
+ * <p>
+ * As colunas são informadas como alias -> caminho do atributo ({@code "nome_categoria" -> "categoria.nome"}).
+ * Associações intermediárias usam LEFT JOIN, exceto quando só o id é lido (a FK já está na tabela).
+ */
+@Repository
+@RequiredArgsConstructor
+public class ProjectionRepository {
+
+    private final EntityManager entityManager;
+
+    public <T> List<Map<String, Object>> findAll(final Class<T> entity, final Map<String, String> columns,
+                                                 final Specification<T> specification) {
+        final CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        final Root<T> root = query.from(entity);
+
+        final Map<String, From<?, ?>> joins = new HashMap<>();
+        final List<Selection<?>> selections = new ArrayList<>();
+        columns.forEach((alias, attribute) -> selections.add(path(root, attribute, joins).alias(alias)));
+        query.multiselect(selections);
+
+        final Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("id")));
+
+        return entityManager.createQuery(query).getResultList().stream().map(ProjectionRepository::toRow).toList();
+    }
+
+    /**
+     * Consulta em lote: as colunas pedidas mais o id (alias {@code id}), indexadas por id.
+     */
+    public <T> Map<Long, Map<String, Object>> findAllById(final Class<T> entity, final Map<String, String> columns,
+                                                          final Collection<Long> ids) {
+        final Map<String, String> withId = new LinkedHashMap<>(columns);
+        withId.putIfAbsent("id", "id");
+        return findAll(entity, withId, (root, query, cb) -> root.get("id").in(ids)).stream()
+                .collect(Collectors.toMap(row -> (Long) row.get("id"), Function.identity()));
+    }
+
+    public <T> Optional<Map<String, Object>> findOne(final Class<T> entity, final Map<String, String> columns,
+                                                     final Specification<T> specification) {
+        return findAll(entity, columns, specification).stream().findFirst();
+    }
+
+    private static Path<?> path(final Root<?> root, final String attribute, final Map<String, From<?, ?>> joins) {
+        final String[] parts = attribute.split("\\.");
+        if (parts.length == 2 && parts[1].equals("id")) {
+            return root.get(parts[0]).get(parts[1]);
+        }
+
+        From<?, ?> from = root;
+        for (int i = 0; i < parts.length - 1; i++) {
+            final From<?, ?> parent = from;
+            final String association = parts[i];
+            final String joinPath = String.join(".", Arrays.copyOfRange(parts, 0, i + 1));
+            from = joins.computeIfAbsent(joinPath, key -> parent.join(association, JoinType.LEFT));
+        }
+        return from.get(parts[parts.length - 1]);
+    }
+
+    private static Map<String, Object> toRow(final Tuple tuple) {
+        final Map<String, Object> row = new LinkedHashMap<>();
+        for (TupleElement<?> element : tuple.getElements()) {
+            row.put(element.getAlias(), tuple.get(element));
+        }
+        return row;
+    }
+}
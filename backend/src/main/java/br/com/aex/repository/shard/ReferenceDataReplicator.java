@@ -0,0 +1,77 @@
+package br.com.aex.repository.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Copia os dados de referência (categoria e produto) do shard principal para os demais shards, para que
+ * pedidos e itens continuem fazendo join e FK com produtos dentro do próprio shard.
+ * <p>
+ * Os ids são os do shard principal: os shards adicionais nunca geram ids de produto ou categoria.
+ */
+@Slf4j
+public class ReferenceDataReplicator {
+
+    private static final String SELECT_CATEGORIAS = "select id, nome from categoria";
+    private static final String SELECT_PRODUTOS = "select id, nome, descricao, preco_venda, categoria_id from produto";
+
+    private final ShardRouter shardRouter;
+
+    public ReferenceDataReplicator(final ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    public void replicateAll() {
+        if (shardRouter.replicas().isEmpty()) {
+            return;
+        }
+        final JdbcTemplate primary = jdbc(ShardRouter.PRIMARY);
+        final List<Map<String, Object>> categorias = primary.queryForList(SELECT_CATEGORIAS);
+        final List<Map<String, Object>> produtos = primary.queryForList(SELECT_PRODUTOS);
+
+        for (int shard : shardRouter.replicas()) {
+            final JdbcTemplate replica = jdbc(shard);
+            categorias.forEach(row -> upsertCategoria(replica, row));
+            produtos.forEach(row -> upsertProduto(replica, row));
+            log.info("Shard {}: {} categorias e {} produtos replicados", shard, categorias.size(), produtos.size());
+        }
+    }
+
+    public void replicateProduct(final Long id) {
+        if (shardRouter.replicas().isEmpty()) {
+            return;
+        }
+        final List<Map<String, Object>> rows = jdbc(ShardRouter.PRIMARY).queryForList(SELECT_PRODUTOS + " where id = ?", id);
+        for (int shard : shardRouter.replicas()) {
+            final JdbcTemplate replica = jdbc(shard);
+            if (rows.isEmpty()) {
+                replica.update("delete from produto where id = ?", id);
+            } else {
+                upsertProduto(replica, rows.getFirst());
+            }
+        }
+    }
+
+    private static void upsertCategoria(final JdbcTemplate replica, final Map<String, Object> row) {
+        if (replica.update("update categoria set nome = ? where id = ?", row.get("nome"), row.get("id")) == 0) {
+            replica.update("insert into categoria (id, nome) values (?, ?)", row.get("id"), row.get("nome"));
+        }
+    }
+
+    private static void upsertProduto(final JdbcTemplate replica, final Map<String, Object> row) {
+        final int updated = replica.update(
+                "update produto set nome = ?, descricao = ?, preco_venda = ?, categoria_id = ? where id = ?",
+                row.get("nome"), row.get("descricao"), row.get("preco_venda"), row.get("categoria_id"), row.get("id"));
+        if (updated == 0) {
+            replica.update("insert into produto (id, nome, descricao, preco_venda, categoria_id) values (?, ?, ?, ?, ?)",
+                    row.get("id"), row.get("nome"), row.get("descricao"), row.get("preco_venda"), row.get("categoria_id"));
+        }
+    }
+
+    private JdbcTemplate jdbc(final int shard) {
+        return new JdbcTemplate(shardRouter.dataSource(shard));
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.aex.repository.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Prepara os shards adicionais na inicialização: cria o schema com a mesma configuração de
+ * {@code spring.jpa.hibernate.ddl-auto} usada no shard principal e copia os dados de referência.
+ * <p>
+ * Roda depois do data.sql, que só é executado no shard principal. Ao final publica {@link ShardsReadyEvent},
+ * antes de o servidor web aceitar requisições.
+ */
+@Slf4j
+public class ShardInitializer implements SmartInitializingSingleton {
+
+    private final ShardRouter shardRouter;
+    private final ShardingConfig.MetadataHolder metadataHolder;
+    private final ReferenceDataReplicator replicator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ShardInitializer(final ShardRouter shardRouter,
+                            final ShardingConfig.MetadataHolder metadataHolder,
+                            final ReferenceDataReplicator replicator,
+                            final ApplicationEventPublisher eventPublisher) {
+        this.shardRouter = shardRouter;
+        this.metadataHolder = metadataHolder;
+        this.replicator = replicator;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        prepareReplicas();
+        eventPublisher.publishEvent(new ShardsReadyEvent(shardRouter.shardCount()));
+    }
+
+    private void prepareReplicas() {
+        if (shardRouter.replicas().isEmpty()) {
+            return;
+        }
+        final Map<String, Object> settings = new HashMap<>(metadataHolder.sessionFactory().getProperties());
+        for (int shard : shardRouter.replicas()) {
+            log.info("Preparando schema do shard {}", shard);
+            StoreContext.run(null, shard, () -> SchemaManagementToolCoordinator.process(
+                    metadataHolder.metadata(), metadataHolder.sessionFactory().getServiceRegistry(), settings, action -> {
+                    }));
+        }
+        replicator.replicateAll();
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.aex.repository.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+/**
+ * Decide o shard de cada loja e executa código vinculado a uma loja ou a um shard.
+ * O shard 0 é o principal: além das lojas que caem nele, é a origem dos dados de referência (produto, categoria).
+ */
+public class ShardRouter implements AutoCloseable {
+
+    public static final int PRIMARY = 0;
+
+    private final ShardingProperties properties;
+    private final List<DataSource> shards;
+    private final Map<Workload, List<DataSource>> pools;
+
+    /**
+     * @param pools pools de conexões de cada shard por {@link Workload}; o de {@link Workload#CUSTOMER} é o pool
+     *              principal do shard, usado também pelas tarefas em segundo plano
+     */
+    public ShardRouter(final ShardingProperties properties, final Map<Workload, List<DataSource>> pools) {
+        this.properties = properties;
+        this.shards = List.copyOf(pools.get(Workload.CUSTOMER));
+        this.pools = Map.copyOf(pools);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public Long defaultStore() {
+        return properties.defaultStore();
+    }
+
+    public int shardFor(final Long store) {
+        final Integer fixed = properties.stores().get(store);
+        // Lojas são numeradas a partir de 1: a loja 1 fica no shard principal, a 2 no shard 1, e assim por diante
+        return fixed != null ? fixed : Math.floorMod(store - 1, shards.size());
+    }
+
+    public DataSource dataSource(final int shard) {
+        return shards.get(shard);
+    }
+
+    public DataSource dataSource(final int shard, final Workload workload) {
+        return pools.get(workload).get(shard);
+    }
+
+    public List<Integer> replicas() {
+        return IntStream.range(PRIMARY + 1, shards.size()).boxed().toList();
+    }
+
+    public <T> T onStore(final Long store, final Supplier<T> action) {
+        return StoreContext.call(store, shardFor(store), action);
+    }
+
+    public <T> T onPrimary(final Supplier<T> action) {
+        return StoreContext.call(null, PRIMARY, action);
+    }
+
+    /**
+     * Executa em cada shard como tenant raiz (sem filtro por loja).
+     */
+    public void forEachShard(final Runnable action) {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            StoreContext.run(null, shard, action);
+        }
+    }
+
+    /**
+     * Fecha os pools de conexões de todos os shards.
+     */
+    @Override
+    public void close() {
+        for (List<DataSource> workloadPools : pools.values()) {
+            for (DataSource pool : workloadPools) {
+                if (pool instanceof HikariDataSource hikari) {
+                    hikari.close();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.aex.repository.shard;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Escolhe o datasource do shard vinculado à thread no momento em que a conexão é obtida, no pool da
+ * {@link Workload} atual. Sem vínculo, usa o shard principal (0).
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public record Key(int shard, Workload workload) {
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        final Integer shard = StoreContext.shard();
+        return new Key(shard != null ? shard : ShardRouter.PRIMARY, Workload.current());
+    }
+}
@@ -0,0 +1,143 @@
+package br.com.aex.repository.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.internal.EntityManagerFactoryBuilderImpl;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Pools de conexões de todos os shards. Cada pool recebe a configuração de {@code spring.datasource.hikari.*},
+     * exceto o nome e o tamanho, que vêm de {@code aex.sharding.pool-size}. Os pools são fechados no shutdown.
+     */
+    @Bean(destroyMethod = "close")
+    public ShardRouter shardRouter(final DataSourceProperties dataSourceProperties, final ShardingProperties properties,
+                                   final MeterRegistry meterRegistry, final Environment environment) {
+        final Binder binder = Binder.get(environment);
+        final List<DataSourceProperties> shards = new ArrayList<>();
+        shards.add(dataSourceProperties);
+        for (ShardingProperties.Shard shard : properties.shards()) {
+            final DataSourceProperties shardProperties = new DataSourceProperties();
+            shardProperties.setUrl(shard.url());
+            shardProperties.setUsername(shard.username());
+            shardProperties.setPassword(shard.password());
+            shards.add(shardProperties);
+        }
+
+        final Map<Workload, List<DataSource>> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            final List<DataSource> workloadPools = new ArrayList<>();
+            for (int shard = 0; shard < shards.size(); shard++) {
+                final HikariDataSource pool = shards.get(shard).initializeDataSourceBuilder().type(HikariDataSource.class).build();
+                binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+                // Métricas hikaricp.connections.* com a tag pool=shard-N-workload
+                pool.setPoolName("shard-" + shard + "-" + workload.name().toLowerCase(Locale.ROOT));
+                pool.setMaximumPoolSize(properties.poolSize(workload));
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                workloadPools.add(pool);
+            }
+            pools.put(workload, workloadPools);
+        }
+        return new ShardRouter(properties, pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(final ShardRouter shardRouter) {
+        final Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            for (Workload workload : Workload.values()) {
+                targets.put(new ShardRoutingDataSource.Key(shard, workload), shardRouter.dataSource(shard, workload));
+            }
+        }
+
+        final ShardRoutingDataSource dataSource = new ShardRoutingDataSource();
+        dataSource.setTargetDataSources(targets);
+        dataSource.setDefaultTargetDataSource(shardRouter.dataSource(ShardRouter.PRIMARY));
+        dataSource.setLenientFallback(false);
+        return dataSource;
+    }
+
+    @Bean
+    public ReferenceDataReplicator referenceDataReplicator(final ShardRouter shardRouter) {
+        return new ReferenceDataReplicator(shardRouter);
+    }
+
+    @Bean
+    public ShardInitializer shardInitializer(final ShardRouter shardRouter, final MetadataHolder metadataHolder,
+                                             final ReferenceDataReplicator replicator,
+                                             final ApplicationEventPublisher eventPublisher) {
+        return new ShardInitializer(shardRouter, metadataHolder, replicator, eventPublisher);
+    }
+
+    @Bean
+    public static MetadataHolder hibernateMetadataHolder() {
+        return new MetadataHolder();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties(final MetadataHolder metadataHolder) {
+        return properties -> {
+            properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, new StoreTenantResolver());
+            properties.put(EntityManagerFactoryBuilderImpl.INTEGRATOR_PROVIDER, (IntegratorProvider) () -> List.of(metadataHolder));
+        };
+    }
+
+    /**
+     * Guarda o metamodelo do Hibernate para criar o schema nos shards adicionais.
+     */
+    public static class MetadataHolder implements Integrator {
+
+        private Metadata metadata;
+        private SessionFactoryImplementor sessionFactory;
+
+        @Override
+        public void integrate(final Metadata metadata, final BootstrapContext bootstrapContext,
+                              final SessionFactoryImplementor sessionFactory) {
+            this.metadata = metadata;
+            this.sessionFactory = sessionFactory;
+        }
+
+        @Override
+        public void disintegrate(final SessionFactoryImplementor sessionFactory, final SessionFactoryServiceRegistry serviceRegistry) {
+            this.metadata = null;
+            this.sessionFactory = null;
+        }
+
+        public Metadata metadata() {
+            return metadata;
+        }
+
+        public SessionFactoryImplementor sessionFactory() {
+            return sessionFactory;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.aex.repository.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shards adicionais ao datasource principal ({@code spring.datasource.*}, que é sempre o shard 0).
+ *
+ * <pre>
+ * aex.sharding.shards[0].url=jdbc:h2:mem:aex1
+ * aex.sharding.shards[0].username=sa
+ * aex.sharding.stores.7=1   # loja 7 fixa no shard 1; as demais: (loja - 1) % total de shards
+ * aex.sharding.pool-size.admin=4
+ * </pre>
+ *
+ * @param defaultStore loja usada quando a requisição não informa {@code X-Store-Id}
+ * @param shards       shards adicionais (1..n)
+ * @param stores       mapeamento explícito loja -> shard
+ * @param poolSize     conexões por shard em cada pool ({@link Workload})
+ */
+@ConfigurationProperties("aex.sharding")
+public record ShardingProperties(
+        Long defaultStore,
+        List<Shard> shards,
+        Map<Long, Integer> stores,
+        Map<Workload, Integer> poolSize
+) {
+
+    public ShardingProperties {
+        defaultStore = defaultStore != null ? defaultStore : 1L;
+        shards = shards != null ? shards : List.of();
+        stores = stores != null ? stores : Map.of();
+        poolSize = poolSize != null ? poolSize : Map.of();
+    }
+
+    public int poolSize(final Workload workload) {
+        return poolSize.getOrDefault(workload, workload == Workload.CUSTOMER ? 10 : 4);
+    }
+
+    public record Shard(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
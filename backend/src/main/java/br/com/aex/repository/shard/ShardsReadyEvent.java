@@ -0,0 +1,7 @@
+package br.com.aex.repository.shard;
+
+/**
+ * Publicado quando todos os shards têm schema e dados de referência, antes de a aplicação receber requisições.
+ */
+public record ShardsReadyEvent(int shardCount) {
+}
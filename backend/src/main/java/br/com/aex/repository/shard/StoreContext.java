@@ -0,0 +1,63 @@
+package br.com.aex.repository.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Loja e shard da thread atual.
+ * <p>
+ * Requisições HTTP são vinculadas à loja do header {@code X-Store-Id}. Tarefas em segundo plano se vinculam
+ * apenas a um shard, sem loja: nesse caso o Hibernate não filtra as entidades por loja (tenant raiz).
+ */
+public final class StoreContext {
+
+    private static final ThreadLocal<Binding> CURRENT = new ThreadLocal<>();
+
+    public record Binding(Long store, int shard) {
+    }
+
+    private StoreContext() {
+    }
+
+    public static Long store() {
+        final Binding binding = CURRENT.get();
+        return binding != null ? binding.store() : null;
+    }
+
+    public static Integer shard() {
+        final Binding binding = CURRENT.get();
+        return binding != null ? binding.shard() : null;
+    }
+
+    /**
+     * Vincula a thread e devolve o vínculo anterior, que deve ser restaurado com {@link #restore(Binding)}.
+     */
+    public static Binding bind(final Long store, final int shard) {
+        final Binding previous = CURRENT.get();
+        CURRENT.set(new Binding(store, shard));
+        return previous;
+    }
+
+    public static void restore(final Binding previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    public static <T> T call(final Long store, final int shard, final Supplier<T> action) {
+        final Binding previous = bind(store, shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(final Long store, final int shard, final Runnable action) {
+        call(store, shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package br.com.aex.repository.shard;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+/**
+ * Tenant das entidades com {@code @TenantId} (cliente, pedido e item_pedido): a loja vinculada à thread.
+ * Sem loja (inicialização, tarefas em segundo plano) a sessão é raiz e enxerga todas as lojas do shard.
+ */
+public class StoreTenantResolver implements CurrentTenantIdentifierResolver<Long> {
+
+    public static final Long ROOT = -1L;
+
+    @Override
+    public Long resolveCurrentTenantIdentifier() {
+        final Long store = StoreContext.store();
+        return store != null ? store : ROOT;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public boolean isRoot(final Long tenantId) {
+        return ROOT.equals(tenantId);
+    }
+}
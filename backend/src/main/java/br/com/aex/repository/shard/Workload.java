@@ -0,0 +1,38 @@
+package br.com.aex.repository.shard;
+
+/**
+ * Classe de carga da thread atual, que escolhe o pool de conexões dentro do shard.
+ * <p>
+ * Atendimento ao cliente (cardápio, pedidos) e rotas administrativas (listagens, histórico, buscas) usam pools
+ * separados: uma consulta pesada do painel não consegue tomar as conexões do checkout. Sem vínculo, a thread
+ * usa o pool de atendimento.
+ */
+public enum Workload {
+
+    CUSTOMER,
+    ADMIN;
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    public static Workload current() {
+        final Workload workload = CURRENT.get();
+        return workload != null ? workload : CUSTOMER;
+    }
+
+    /**
+     * Vincula a thread e devolve o vínculo anterior, que deve ser restaurado com {@link #restore(Workload)}.
+     */
+    public static Workload bind(final Workload workload) {
+        final Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(final Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
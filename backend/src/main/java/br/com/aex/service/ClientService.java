@@ -1,19 +1,28 @@
 package br.com.aex.service;
 
 import br.com.aex.entity.Cliente;
+import br.com.aex.entity.Pedido;
 import br.com.aex.repository.ClienteRepository;
+import br.com.aex.repository.ProjectionRepository;
 import br.com.aex.service.exception.ResourceNotFoundException;
+import br.com.aex.service.profiling.ClientLookupEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ClientService {
 
     private final ClienteRepository clienteRepository;
+    private final ProjectionRepository projectionRepository;
 
     public boolean telefoneExists(String telefone) {
         return clienteRepository.findByTelefone(telefone).isPresent();
@@ -29,8 +38,42 @@ public class ClientService {
     }
 
     public Cliente getClient(String telefone) {
-        return clienteRepository.findByTelefone(telefone)
-                .orElseThrow(() -> new ResourceNotFoundException("Client not found with telefone: " + telefone));
+        final ClientLookupEvent event = ClientLookupEvent.start(false);
+        final Optional<Cliente> client = clienteRepository.findByTelefone(telefone);
+        event.finish(client.isPresent());
+        return client.orElseThrow(() -> new ResourceNotFoundException("Client not found with telefone: " + telefone));
+    }
+
+    // Consulta em lote: uma única consulta IN, indexada por id
+    public Map<Long, Cliente> getClients(final Collection<Long> ids) {
+        return clienteRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Cliente::getId, Function.identity()));
+    }
+
+    // Projeções: apenas as colunas pedidas em ?fields= (campo do JSON -> atributo da entidade)
+    public List<Map<String, Object>> getClients(final Map<String, String> columns) {
+        return projectionRepository.findAll(Cliente.class, columns, null);
+    }
+
+    public Map<Long, Map<String, Object>> getClients(final Collection<Long> ids, final Map<String, String> columns) {
+        return projectionRepository.findAllById(Cliente.class, columns, ids);
+    }
+
+    public Map<String, Object> getClient(final Long id, final Map<String, String> columns) {
+        return projectionRepository.findOne(Cliente.class, columns, (root, query, cb) -> cb.equal(root.get("id"), id))
+                .orElseThrow(() -> new ResourceNotFoundException("Client not found with id: " + id));
+    }
+
+    public Map<String, Object> getClient(final String telefone, final Map<String, String> columns) {
+        final ClientLookupEvent event = ClientLookupEvent.start(true);
+        final Optional<Map<String, Object>> client = projectionRepository.findOne(Cliente.class, columns,
+                (root, query, cb) -> cb.equal(root.get("telefone"), telefone));
+        event.finish(client.isPresent());
+        return client.orElseThrow(() -> new ResourceNotFoundException("Client not found with telefone: " + telefone));
+    }
+
+    public List<Map<String, Object>> getClientOrders(final Long id, final Map<String, String> columns) {
+        return projectionRepository.findAll(Pedido.class, columns, (root, query, cb) -> cb.equal(root.get("cliente").get("id"), id));
     }
 
     public Cliente saveClient(Cliente client) {
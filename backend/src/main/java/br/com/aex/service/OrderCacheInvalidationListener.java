@@ -0,0 +1,26 @@
+package br.com.aex.service;
+
+import br.com.aex.entity.Pedido;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA de {@link Pedido}: qualquer alteração ou exclusão descarta o pedido do {@link OrderReadCache}.
+ */
+@Component
+public class OrderCacheInvalidationListener {
+
+    private final OrderReadCache orderReadCache;
+
+    public OrderCacheInvalidationListener(@Lazy final OrderReadCache orderReadCache) {
+        this.orderReadCache = orderReadCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void invalidate(final Pedido pedido) {
+        orderReadCache.invalidate(pedido.getLojaId(), pedido.getId());
+    }
+}
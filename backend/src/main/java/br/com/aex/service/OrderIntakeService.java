@@ -0,0 +1,217 @@
+package br.com.aex.service;
+
+import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
+import br.com.aex.entity.Pedido;
+import br.com.aex.entity.PedidoRejeitado;
+import br.com.aex.repository.OrderIdAllocator;
+import br.com.aex.repository.PedidoRejeitadoRepository;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.StoreContext;
+import br.com.aex.service.exception.OrderIntakeFullException;
+import br.com.aex.service.payment.PaymentOutboxService;
+import br.com.aex.service.stock.StockService;
+import br.com.aex.service.suggestion.SuggestionService;
+import br.com.aex.service.summary.ClientSummaryService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Recepção assíncrona de pedidos.
+ * <p>
+ * Pedidos validados recebem um id reservado e entram num buffer circular limitado. Uma única thread
+ * escritora esvazia o buffer e grava vários pedidos por transação (group commit). Enquanto não forem
+ * gravados, os pedidos continuam visíveis via {@link #findPending(Long)}.
+ * <p>
+ * Cada pedido guarda a loja da requisição; a escritora grava cada lote agrupado por loja, no shard da loja.
+ * <p>
+ * Um pedido que não pode ser gravado já recebeu 202: ele é registrado em pedido_rejeitado e o acompanhamento
+ * passa a responder {@link #STATUS_REJEITADO} (ver {@link #findRejected(Long)}).
+ */
+@Slf4j
+@Service
+public class OrderIntakeService {
+
+    public static final String STATUS_RECEBIDO = "RECEBIDO";
+    public static final String STATUS_PENDENTE = "PENDENTE";
+    public static final String STATUS_REJEITADO = "REJEITADO";
+
+    private final OrderService orderService;
+    private final OrderIdAllocator orderIdAllocator;
+    private final PedidoRejeitadoRepository pedidoRejeitadoRepository;
+    private final PaymentOutboxService paymentOutboxService;
+    private final StockService stockService;
+    private final SuggestionService suggestionService;
+    private final ClientSummaryService clientSummaryService;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    private final BlockingQueue<Pedido> buffer;
+    private final Map<PendingKey, Pedido> pending = new ConcurrentHashMap<>();
+    private final int batchSize;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public OrderIntakeService(final OrderService orderService,
+                              final OrderIdAllocator orderIdAllocator,
+                              final PedidoRejeitadoRepository pedidoRejeitadoRepository,
+                              final PaymentOutboxService paymentOutboxService,
+                              final StockService stockService,
+                              final SuggestionService suggestionService,
+                              final ClientSummaryService clientSummaryService,
+                              final EntityManager entityManager,
+                              final TransactionTemplate transactionTemplate,
+                              final ShardRouter shardRouter,
+                              @Value("${aex.order.intake.capacity:1024}") final int capacity,
+                              @Value("${aex.order.intake.batch-size:64}") final int batchSize) {
+        this.orderService = orderService;
+        this.orderIdAllocator = orderIdAllocator;
+        this.pedidoRejeitadoRepository = pedidoRejeitadoRepository;
+        this.paymentOutboxService = paymentOutboxService;
+        this.stockService = stockService;
+        this.suggestionService = suggestionService;
+        this.clientSummaryService = clientSummaryService;
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+    }
+
+    public Pedido accept(final CompleteOrderDtoV1 completeOrderDto) {
+        if (buffer.remainingCapacity() == 0) {
+            throw new OrderIntakeFullException("Fila de pedidos cheia, tente novamente em instantes");
+        }
+
+        final Pedido pedido = orderService.buildOrder(completeOrderDto, STATUS_RECEBIDO);
+        pedido.setId(orderIdAllocator.nextId());
+        pedido.setLojaId(StoreContext.store());
+
+        pending.put(PendingKey.of(pedido), pedido);
+        if (!buffer.offer(pedido)) {
+            pending.remove(PendingKey.of(pedido));
+            stockService.release(pedido.getLojaId(), OrderService.quantities(pedido.getItens()));
+            throw new OrderIntakeFullException("Fila de pedidos cheia, tente novamente em instantes");
+        }
+        return pedido;
+    }
+
+    public Optional<Pedido> findPending(final Long id) {
+        return Optional.ofNullable(pending.get(new PendingKey(StoreContext.store(), id)));
+    }
+
+    /**
+     * Pedido aceito que a escritora não conseguiu gravar; consultado só quando o pedido não está no banco.
+     */
+    public Optional<PedidoRejeitado> findRejected(final Long id) {
+        return pedidoRejeitadoRepository.findById(id);
+    }
+
+    @PostConstruct
+    void start() {
+        running = true;
+        writer = Thread.ofPlatform().name("order-intake-writer").daemon().start(this::drain);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+
+    private void drain() {
+        final List<Pedido> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                final Pedido first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                batch.stream()
+                        .collect(Collectors.groupingBy(Pedido::getLojaId))
+                        .forEach((store, orders) -> shardRouter.onStore(store, () -> {
+                            persist(orders);
+                            return null;
+                        }));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Erro inesperado na gravação de pedidos", e);
+            } finally {
+                batch.forEach(pedido -> pending.remove(PendingKey.of(pedido)));
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(final List<Pedido> batch) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+        } catch (RuntimeException e) {
+            // Um pedido inválido não pode derrubar o lote inteiro: grava um a um para isolá-lo
+            log.warn("Falha ao gravar lote de {} pedidos, gravando individualmente", batch.size(), e);
+            for (Pedido pedido : batch) {
+                try {
+                    // Valores atribuídos no flush que falhou: sem eles o Hibernate trataria o pedido como já gravado
+                    pedido.setVersao(null);
+                    pedido.getItens().forEach(item -> item.setId(null));
+                    pedido.getPagamento().setId(null);
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(pedido)));
+                } catch (RuntimeException ex) {
+                    stockService.release(pedido.getLojaId(), OrderService.quantities(pedido.getItens()));
+                    reject(pedido, ex);
+                }
+            }
+        }
+    }
+
+    private void reject(final Pedido pedido, final RuntimeException cause) {
+        log.error("Pedido {} rejeitado", pedido.getId(), cause);
+        try {
+            transactionTemplate.executeWithoutResult(status -> entityManager.persist(PedidoRejeitado.of(pedido, cause)));
+            // Já visível como rejeitado: não pode continuar pendente até o fim do lote
+            pending.remove(PendingKey.of(pedido));
+        } catch (RuntimeException e) {
+            log.error("Falha ao registrar a rejeição do pedido {}", pedido.getId(), e);
+        }
+    }
+
+    private void insert(final List<Pedido> pedidos) {
+        pedidos.forEach(this::insert);
+        // Depois dos inserts, para não interromper os batches do Hibernate
+        clientSummaryService.record(pedidos);
+    }
+
+    private void insert(final Pedido pedido) {
+        pedido.setStatus(STATUS_PENDENTE);
+        entityManager.persist(pedido);
+        paymentOutboxService.enqueue(pedido);
+        suggestionService.recordAfterCommit(pedido.getItens());
+    }
+
+    private record PendingKey(Long store, Long id) {
+
+        static PendingKey of(final Pedido pedido) {
+            return new PendingKey(pedido.getLojaId(), pedido.getId());
+        }
+    }
+}
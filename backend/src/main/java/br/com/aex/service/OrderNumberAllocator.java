@@ -0,0 +1,171 @@
+package br.com.aex.service;
+
+import br.com.aex.repository.shard.ShardRouter;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Número do pedido exibido ao cliente: sequencial por loja, reiniciado a cada dia de operação.
+ * <p>
+ * Cada instância reserva blocos de {@code aex.order.number.block-size} números (hi/lo) na tabela
+ * numeracao_pedido e distribui os números do bloco em memória. Várias instâncias nunca recebem o mesmo
+ * número; em troca, números de um bloco não usado até o fim do dia ou até a instância parar ficam sem uso.
+ * <p>
+ * A reserva roda num pool de conexões próprio e pequeno, em transação separada: quem pede um número
+ * normalmente já segura uma conexão do pool principal (a do pedido), e esperar uma segunda conexão do
+ * mesmo pool pode travar todas as threads sob carga.
+ * <p>
+ * O dia de operação começa em {@code aex.order.number.day-start} no fuso {@code aex.order.number.zone}:
+ * pedidos feitos depois da meia-noite, antes da virada, ainda contam no dia anterior.
+ */
+@Slf4j
+@Component
+public class OrderNumberAllocator {
+
+    private final ShardRouter shardRouter;
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final List<JdbcTemplate> jdbcTemplates = new ArrayList<>();
+    private final List<TransactionTemplate> transactionTemplates = new ArrayList<>();
+    private final Clock clock;
+    private final Duration dayStart;
+    private final int blockSize;
+
+    private final Map<Key, Block> blocks = new ConcurrentHashMap<>();
+    private final Map<Key, ReentrantLock> locks = new ConcurrentHashMap<>();
+
+    public OrderNumberAllocator(final ShardRouter shardRouter,
+                                @Value("${aex.order.number.zone:America/Sao_Paulo}") final ZoneId zone,
+                                @Value("${aex.order.number.day-start:4h}") final Duration dayStart,
+                                @Value("${aex.order.number.block-size:20}") final int blockSize,
+                                @Value("${aex.order.number.pool-size:2}") final int poolSize) {
+        this.shardRouter = shardRouter;
+        this.clock = Clock.system(zone);
+        this.dayStart = dayStart;
+        this.blockSize = blockSize;
+
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            final HikariDataSource pool = pool(shard, poolSize);
+            pools.add(pool);
+            jdbcTemplates.add(new JdbcTemplate(pool));
+            transactionTemplates.add(new TransactionTemplate(new DataSourceTransactionManager(pool)));
+        }
+    }
+
+    private HikariDataSource pool(final int shard, final int poolSize) {
+        try {
+            final HikariDataSource main = shardRouter.dataSource(shard).unwrap(HikariDataSource.class);
+            final HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("order-number-" + shard);
+            pool.setJdbcUrl(main.getJdbcUrl());
+            pool.setUsername(main.getUsername());
+            pool.setPassword(main.getPassword());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setMinimumIdle(0);
+            return pool;
+        } catch (SQLException e) {
+            throw new IllegalStateException("Shard " + shard + " sem pool Hikari", e);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    public LocalDate businessDay() {
+        return LocalDateTime.now(clock).minus(dayStart).toLocalDate();
+    }
+
+    public int next(final Long store, final LocalDate day) {
+        final Key key = new Key(store, day);
+        while (true) {
+            final Block block = blocks.get(key);
+            if (block != null) {
+                final int number = block.next.getAndIncrement();
+                if (number <= block.last) {
+                    return number;
+                }
+            }
+            // Bloco esgotado: só uma thread por loja/dia reserva o próximo, as demais esperam e usam o novo bloco.
+            // Lock em vez de synchronized: com threads virtuais, I/O dentro de synchronized prende a carrier thread
+            final ReentrantLock lock = locks.computeIfAbsent(key, k -> new ReentrantLock());
+            lock.lock();
+            try {
+                if (blocks.get(key) == block) {
+                    blocks.put(key, reserve(key));
+                    evictBefore(day);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Block reserve(final Key key) {
+        final int shard = shardRouter.shardFor(key.store());
+        try {
+            return transactionTemplates.get(shard).execute(status -> reserveBlock(jdbcTemplates.get(shard), key));
+        } catch (DataIntegrityViolationException e) {
+            // Outra instância criou a linha do dia ao mesmo tempo: agora ela existe e pode ser travada
+            return transactionTemplates.get(shard).execute(status -> reserveBlock(jdbcTemplates.get(shard), key));
+        }
+    }
+
+    private Block reserveBlock(final JdbcTemplate jdbc, final Key key) {
+        final List<Integer> reserved = jdbc.queryForList(
+                "select ultimo_numero from numeracao_pedido where loja_id = ? and data_negocio = ? for update",
+                Integer.class, key.store(), key.day());
+
+        final int first = reserved.isEmpty() ? 1 : reserved.getFirst() + 1;
+        final int last = first + blockSize - 1;
+        if (reserved.isEmpty()) {
+            jdbc.update("insert into numeracao_pedido (loja_id, data_negocio, ultimo_numero) values (?, ?, ?)",
+                    key.store(), key.day(), last);
+        } else {
+            jdbc.update("update numeracao_pedido set ultimo_numero = ? where loja_id = ? and data_negocio = ?",
+                    last, key.store(), key.day());
+        }
+
+        log.debug("Loja {} em {}: números {} a {} reservados", key.store(), key.day(), first, last);
+        return new Block(first, last);
+    }
+
+    private void evictBefore(final LocalDate day) {
+        blocks.keySet().removeIf(key -> key.day().isBefore(day));
+        locks.keySet().removeIf(key -> key.day().isBefore(day));
+    }
+
+    private record Key(Long store, LocalDate day) {
+    }
+
+    private static final class Block {
+
+        private final AtomicInteger next;
+        private final int last;
+
+        private Block(final int first, final int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
+}
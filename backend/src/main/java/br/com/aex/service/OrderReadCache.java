@@ -0,0 +1,129 @@
+package br.com.aex.service;
+
+import br.com.aex.api.dto.order.OrderDtoV1;
+import br.com.aex.entity.Pedido;
+import br.com.aex.repository.shard.StoreContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache curto das leituras de pedido usadas no acompanhamento (GET /v1/order/{id}, consultado em polling).
+ * <p>
+ * Leituras simultâneas do mesmo pedido compartilham uma única carga do banco (single-flight). O resultado
+ * fica em memória por {@code aex.order.read-cache.ttl} e é descartado quando o pedido é alterado ou
+ * excluído nesta instância (após o commit); em outras instâncias a alteração aparece no fim do TTL.
+ */
+@Component
+public class OrderReadCache {
+
+    public record Snapshot(OrderDtoV1 order, Long version) {
+    }
+
+    private record Key(Long store, Long id) {
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAt) {
+    }
+
+    private final OrderService orderService;
+    private final long ttlNanos;
+    private final int maxSize;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Key, CompletableFuture<Snapshot>> loading = new ConcurrentHashMap<>();
+    // Cargas iniciadas antes de uma invalidação não podem repor no cache o estado antigo
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public OrderReadCache(final OrderService orderService,
+                          @Value("${aex.order.read-cache.ttl:2s}") final Duration ttl,
+                          @Value("${aex.order.read-cache.max-size:10000}") final int maxSize) {
+        this.orderService = orderService;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+    }
+
+    public Snapshot get(final Long id) {
+        final Key key = new Key(StoreContext.store(), id);
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+            return entry.snapshot();
+        }
+
+        final CompletableFuture<Snapshot> load = new CompletableFuture<>();
+        final CompletableFuture<Snapshot> inFlight = loading.putIfAbsent(key, load);
+        if (inFlight != null) {
+            return join(inFlight);
+        }
+
+        try {
+            final long generation = invalidations.get();
+            final Snapshot snapshot = snapshot(orderService.getOrder(id));
+            if (generation == invalidations.get()) {
+                put(key, snapshot);
+            }
+            load.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key, load);
+        }
+    }
+
+    /**
+     * Descarta o pedido agora e de novo após o commit da transação atual, quando houver uma.
+     */
+    public void invalidate(final Long store, final Long id) {
+        final Key key = new Key(store, id);
+        evict(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    evict(key);
+                }
+            });
+        }
+    }
+
+    private void evict(final Key key) {
+        invalidations.incrementAndGet();
+        entries.remove(key);
+        loading.remove(key);
+    }
+
+    private void put(final Key key, final Snapshot snapshot) {
+        final long now = System.nanoTime();
+        if (entries.size() >= maxSize) {
+            entries.values().removeIf(entry -> entry.expiresAt() - now <= 0);
+        }
+        if (entries.size() < maxSize) {
+            entries.put(key, new Entry(snapshot, now + ttlNanos));
+        }
+    }
+
+    private static Snapshot snapshot(final Pedido pedido) {
+        return new Snapshot(OrderDtoV1.from(pedido), pedido.getVersao());
+    }
+
+    private static Snapshot join(final CompletableFuture<Snapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
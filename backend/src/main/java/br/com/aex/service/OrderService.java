@@ -6,17 +6,35 @@ import br.com.aex.entity.ItemPedido;
 import br.com.aex.entity.Pedido;
 import br.com.aex.entity.Produto;
 import br.com.aex.repository.ClienteRepository;
+import br.com.aex.repository.OrderSearchCriteria;
+import br.com.aex.repository.OrderSearchRepository;
 import br.com.aex.repository.PedidoRepository;
+import br.com.aex.repository.ProjectionRepository;
 import br.com.aex.repository.ProdutoRepository;
+import br.com.aex.repository.shard.StoreContext;
+import br.com.aex.service.exception.OutOfStockException;
 import br.com.aex.service.exception.ResourceNotFoundException;
+import br.com.aex.service.payment.PaymentOutboxService;
+import br.com.aex.service.profiling.OrderCreationEvent;
+import br.com.aex.service.stock.StockService;
+import br.com.aex.service.suggestion.SuggestionService;
+import br.com.aex.service.summary.ClientSummaryService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -25,63 +43,146 @@ public class OrderService {
     private final PedidoRepository pedidoRepository;
     private final ClienteRepository clienteRepository;
     private final ProdutoRepository produtoRepository;
+    private final ProjectionRepository projectionRepository;
+    private final OrderSearchRepository orderSearchRepository;
+    private final PaymentOutboxService paymentOutboxService;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final StockService stockService;
+    private final SuggestionService suggestionService;
+    private final ClientSummaryService clientSummaryService;
 
     public Pedido getOrder(Long id) {
         return pedidoRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
     }
 
+    // Consulta em lote: uma única consulta IN, indexada por id
+    @Transactional(readOnly = true)
+    public Map<Long, Pedido> getOrders(Collection<Long> ids) {
+        return pedidoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Pedido::getId, Function.identity()));
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, Map<String, Object>> getOrders(Collection<Long> ids, Map<String, String> columns) {
+        return projectionRepository.findAllById(Pedido.class, columns, ids);
+    }
+
+    // Projeção: apenas as colunas pedidas em ?fields= (campo do JSON -> atributo de Pedido)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getOrder(Long id, Map<String, String> columns) {
+        return projectionRepository.findOne(Pedido.class, columns, (root, query, cb) -> cb.equal(root.get("id"), id))
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found with id: " + id));
+    }
+
+    // Busca paginada por keyset: afterCreatedAt/afterId são a última linha da página anterior
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> searchOrders(OrderSearchCriteria criteria, LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        return orderSearchRepository.search(criteria, afterCreatedAt, afterId, limit);
+    }
+
     @Transactional
     public CompleteOrderDtoV1 createOrder(CompleteOrderDtoV1 completeOrderDto) {
+        final OrderCreationEvent event = OrderCreationEvent.start(completeOrderDto.getItens() != null ? completeOrderDto.getItens().size() : 0);
         try {
-            System.out.println("✅ Iniciando criação do pedido...");
-
-            // 1. Buscar cliente
-            Cliente cliente = clienteRepository.findById(completeOrderDto.getClienteId())
-                .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + completeOrderDto.getClienteId()));
-
-            // 2. Criar pedido
-            Pedido pedido = new Pedido();
-            pedido.setCliente(cliente);
-            pedido.setValor(completeOrderDto.getTotal());
-            pedido.setStatus("PENDENTE");
-            pedido.setDataCriacao(LocalDateTime.now());
-
-            // 3. Criar itens do pedido
-            List<ItemPedido> itensPedido = new ArrayList<>();
-            
-            for (CompleteOrderDtoV1.OrderItemDto itemDto : completeOrderDto.getItens()) {
-                // Buscar produto
-                Produto produto = produtoRepository.findById(itemDto.getProdutoId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Produto não encontrado com ID: " + itemDto.getProdutoId()));
-
-                // Criar item do pedido
-                ItemPedido itemPedido = new ItemPedido();
-                itemPedido.setPedido(pedido);
-                itemPedido.setProduto(produto);
-                itemPedido.setQuantidade(itemDto.getQuantidade());
-                itemPedido.setPrecoUnitario(produto.getPrecoVenda());
-
-                itensPedido.add(itemPedido);
-            }
-
-            pedido.setItens(itensPedido);
+            // 1-3. Buscar cliente e produtos e montar o pedido com seus itens
+            Pedido pedido = buildOrder(completeOrderDto, "PENDENTE");
 
             // 4. Salvar pedido
             Pedido pedidoSalvo = pedidoRepository.save(pedido);
-            System.out.println("✅ Pedido criado com ID: " + pedidoSalvo.getId());
-
-            // 5. Retornar resposta
+            paymentOutboxService.enqueue(pedidoSalvo);
+            clientSummaryService.record(pedidoSalvo);
+            suggestionService.recordAfterCommit(pedidoSalvo.getItens());
+            log.debug("Pedido {} criado com o número {}", pedidoSalvo.getId(), pedidoSalvo.getNumero());
+
+            // 5. Retornar resposta com o id e o número atribuídos
+            completeOrderDto.setId(pedidoSalvo.getId());
+            completeOrderDto.setNumero(pedidoSalvo.getNumero());
             return completeOrderDto;
 
+        } catch (OutOfStockException e) {
+            throw e;
         } catch (Exception e) {
-            System.err.println("❌ Erro no OrderService: " + e.getMessage());
             throw new RuntimeException("Falha ao criar pedido: " + e.getMessage(), e);
+        } finally {
+            event.finish(completeOrderDto.getId());
+        }
+    }
+
+    /**
+     * Valida cliente e produtos e monta o pedido com seus itens, sem gravá-lo.
+     */
+    @Transactional(readOnly = true)
+    public Pedido buildOrder(CompleteOrderDtoV1 completeOrderDto, String status) {
+        Cliente cliente = clienteRepository.findById(completeOrderDto.getClienteId())
+            .orElseThrow(() -> new ResourceNotFoundException("Cliente não encontrado com ID: " + completeOrderDto.getClienteId()));
+
+        Pedido pedido = new Pedido();
+        pedido.setCliente(cliente);
+        pedido.setValor(completeOrderDto.getTotal());
+        pedido.setStatus(status);
+        pedido.setPagamento(PaymentOutboxService.newPayment(completeOrderDto.getTotal(), completeOrderDto.getFormaPagamento()));
+
+        // Uma única consulta para todos os produtos do pedido
+        final List<Long> produtoIds = completeOrderDto.getItens().stream()
+                .map(CompleteOrderDtoV1.OrderItemDto::getProdutoId)
+                .toList();
+        final Map<Long, Produto> produtos = produtoRepository.findAllById(produtoIds).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+
+        List<ItemPedido> itensPedido = new ArrayList<>();
+        for (CompleteOrderDtoV1.OrderItemDto itemDto : completeOrderDto.getItens()) {
+            Produto produto = produtos.get(itemDto.getProdutoId());
+            if (produto == null) {
+                throw new ResourceNotFoundException("Produto não encontrado com ID: " + itemDto.getProdutoId());
+            }
+
+            ItemPedido itemPedido = new ItemPedido();
+            itemPedido.setPedido(pedido);
+            itemPedido.setProduto(produto);
+            itemPedido.setQuantidade(itemDto.getQuantidade());
+            itemPedido.setPrecoUnitario(produto.getPrecoVenda());
+
+            itensPedido.add(itemPedido);
         }
+
+        pedido.setItens(itensPedido);
+
+        // Reserva o estoque antes de datar o pedido: a recuperação do estoque após um reinício depende disso
+        stockService.reserve(StoreContext.store(), quantities(itensPedido));
+        pedido.setDataCriacao(LocalDateTime.now());
+        pedido.setDataNegocio(orderNumberAllocator.businessDay());
+        pedido.setNumero(orderNumberAllocator.next(StoreContext.store(), pedido.getDataNegocio()));
+        return pedido;
+    }
+
+    // Quantidade por produto, somando itens repetidos
+    public static Map<Long, Integer> quantities(List<ItemPedido> itens) {
+        return itens.stream()
+                .collect(Collectors.toMap(item -> item.getProduto().getId(), ItemPedido::getQuantidade, Integer::sum));
+    }
+
+    public Pedido updateStatus(Long id, String status) {
+        Pedido order = getOrder(id);
+        order.setStatus(status);
+        return order;
     }
 
     public void deleteOrder(Long id) {
         Pedido order = getOrder(id);
+        final Map<Long, Integer> quantities = quantities(order.getItens());
         pedidoRepository.delete(order);
+        // O pagamento ainda não enviado não é mais cobrado; um já reservado ou processado segue o fluxo do outbox
+        paymentOutboxService.cancel(order);
+        clientSummaryService.remove(order);
+        suggestionService.removeAfterCommit(order.getItens());
+
+        // Devolve os itens ao estoque só depois que a exclusão for confirmada
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                stockService.release(order.getLojaId(), quantities);
+            }
+        });
     }
 }
\ No newline at end of file
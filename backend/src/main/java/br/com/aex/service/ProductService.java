@@ -2,21 +2,33 @@ package br.com.aex.service;
 
 import br.com.aex.entity.Produto;
 import br.com.aex.repository.ProdutoRepository;
+import br.com.aex.repository.ProjectionRepository;
+import br.com.aex.repository.shard.ReferenceDataReplicator;
 import br.com.aex.service.exception.ResourceNotFoundException;
+import br.com.aex.service.profiling.MenuFetchEvent;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ProductService {
 
     private final ProdutoRepository produtoRepository;
+    private final ProjectionRepository projectionRepository;
+    private final ReferenceDataReplicator referenceDataReplicator;
 
     // ✅ Métodos que os Controllers esperam:
     public List<Produto> getProducts() {
-        return produtoRepository.findAll();
+        final MenuFetchEvent event = MenuFetchEvent.start(false);
+        final List<Produto> products = produtoRepository.findAll();
+        event.finish(products.size());
+        return products;
     }
 
     public Produto getProduct(Long id) {
@@ -24,8 +36,34 @@ public class ProductService {
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
     }
 
+    // Consulta em lote: uma única consulta IN, indexada por id
+    public Map<Long, Produto> getProducts(final Collection<Long> ids) {
+        return produtoRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Produto::getId, Function.identity()));
+    }
+
+    // Projeções: apenas as colunas pedidas em ?fields= (campo do JSON -> atributo de Produto)
+    public List<Map<String, Object>> getProducts(final Map<String, String> columns) {
+        final MenuFetchEvent event = MenuFetchEvent.start(true);
+        final List<Map<String, Object>> products = projectionRepository.findAll(Produto.class, columns, null);
+        event.finish(products.size());
+        return products;
+    }
+
+    public Map<Long, Map<String, Object>> getProducts(final Collection<Long> ids, final Map<String, String> columns) {
+        return projectionRepository.findAllById(Produto.class, columns, ids);
+    }
+
+    public Map<String, Object> getProduct(final Long id, final Map<String, String> columns) {
+        return projectionRepository.findOne(Produto.class, columns, (root, query, cb) -> cb.equal(root.get("id"), id))
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found with id: " + id));
+    }
+
+    // Produtos são gravados no shard principal e replicados para os shards das lojas
     public Produto saveProduct(Produto product) {
-        return produtoRepository.save(product);
+        final Produto saved = produtoRepository.save(product);
+        referenceDataReplicator.replicateProduct(saved.getId());
+        return saved;
     }
 
     public Produto updateProduct(Long id, Produto productDetails) {
@@ -34,11 +72,14 @@ public class ProductService {
         product.setDescricao(productDetails.getDescricao());
         product.setPrecoVenda(productDetails.getPrecoVenda());
         product.setCategoria(productDetails.getCategoria());
-        return produtoRepository.save(product);
+        final Produto saved = produtoRepository.save(product);
+        referenceDataReplicator.replicateProduct(saved.getId());
+        return saved;
     }
 
     public void deleteProduct(Long id) {
         Produto product = getProduct(id);
         produtoRepository.delete(product);
+        referenceDataReplicator.replicateProduct(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package br.com.aex.service.datagen;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Parâmetros do gerador de dados sintéticos (profile {@code datagen}).
+ *
+ * @param orders           total de pedidos gerados
+ * @param stores           lojas (1..n), cada uma no seu shard
+ * @param clientsPerStore  clientes cadastrados por loja
+ * @param products         produtos criados além dos já existentes
+ * @param days             dias de histórico, terminando ontem
+ * @param productSkew      expoente da distribuição Zipf de popularidade dos produtos
+ * @param clientSkew       expoente da distribuição Zipf de recorrência dos clientes
+ * @param threads          threads de geração (0 = número de processadores)
+ * @param batchSize        pedidos por batch JDBC
+ * @param seed             semente; a mesma semente gera os mesmos dados
+ * @param exitWhenDone     encerra a aplicação ao terminar
+ */
+@ConfigurationProperties("aex.datagen")
+public record DataGeneratorProperties(
+        long orders,
+        int stores,
+        int clientsPerStore,
+        int products,
+        int days,
+        double productSkew,
+        double clientSkew,
+        int threads,
+        int batchSize,
+        long seed,
+        boolean exitWhenDone
+) {
+
+    public DataGeneratorProperties {
+        stores = Math.max(1, stores);
+        days = Math.max(1, days);
+        threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        batchSize = Math.max(1, batchSize);
+    }
+}
@@ -0,0 +1,418 @@
+package br.com.aex.service.datagen;
+
+import br.com.aex.repository.shard.ReferenceDataReplicator;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.service.OrderNumberAllocator;
+import br.com.aex.service.suggestion.SuggestionService;
+import br.com.aex.service.summary.ClientSummaryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Gera um volume de produção de clientes, produtos, pedidos, itens e pagamentos para testes de escala.
+ * <p>
+ * Ativado pelo profile {@code datagen} (ex.: {@code --spring.profiles.active=datagen --aex.datagen.orders=10000000},
+ * ou {@code postgres,datagen}). Distribuições:
+ * <ul>
+ *     <li>popularidade dos produtos e recorrência dos clientes seguem Zipf;</li>
+ *     <li>horário dos pedidos concentrado no almoço (~12h30) e no jantar (~20h), com movimento menor no resto do dia;</li>
+ *     <li>sexta e sábado têm mais pedidos, segunda menos.</li>
+ * </ul>
+ * Cada loja e dia é gerado por uma tarefa independente, em paralelo, com inserts JDBC em batch direto no shard
+ * da loja. Os ids são atribuídos pelo gerador; ao final, identities e a sequence de pedido são reposicionadas.
+ * Com Postgres, use {@code reWriteBatchedInserts=true} na URL do datasource.
+ * <p>
+ * Pode ser executado de novo sobre um banco já gerado para acrescentar dados: o profile mantém o schema
+ * ({@code ddl-auto=update}), o data.sql só roda em banco vazio, ids e telefones continuam do maior já gravado e a
+ * numeração dos pedidos continua a do dia.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+@EnableConfigurationProperties(DataGeneratorProperties.class)
+public class SyntheticDataGenerator implements ApplicationRunner {
+
+    private static final String[] FORMAS_PAGAMENTO = {"PIX", "CARTAO_CREDITO", "CARTAO_DEBITO", "DINHEIRO"};
+    private static final double[] FORMAS_PAGAMENTO_PESO = {0.40, 0.75, 0.90, 1.0};
+    private static final LocalTime ABERTURA = LocalTime.of(10, 0);
+    private static final int MINUTOS_ABERTO = 14 * 60 - 1;
+
+    private static final String INSERT_PAGAMENTO =
+            "insert into pagamento (id, valor_pago, forma_pagamento, status_pagamento) values (?, ?, ?, 'PAGO')";
+    private static final String INSERT_PEDIDO =
+            "insert into pedido (id, loja_id, versao, numero, data_negocio, data_criacao, valor, status, cliente_id, pagamento_id)"
+                    + " values (?, ?, 0, ?, ?, ?, ?, 'FINALIZADO', ?, ?)";
+    private static final String INSERT_ITEM =
+            "insert into item_pedido (id, loja_id, quantidade, preco_unitario, pedido_id, produto_id) values (?, ?, ?, ?, ?, ?)";
+
+    private final DataGeneratorProperties properties;
+    private final ShardRouter shardRouter;
+    private final ReferenceDataReplicator referenceDataReplicator;
+    private final OrderNumberAllocator orderNumberAllocator;
+    private final SuggestionService suggestionService;
+    private final ClientSummaryService clientSummaryService;
+    private final ApplicationContext applicationContext;
+
+    private final AtomicLong pedidoIds = new AtomicLong();
+    private final AtomicLong pagamentoIds = new AtomicLong();
+    private final AtomicLong itemIds = new AtomicLong();
+    private final AtomicLong itensGerados = new AtomicLong();
+
+    public SyntheticDataGenerator(final DataGeneratorProperties properties,
+                                  final ShardRouter shardRouter,
+                                  final ReferenceDataReplicator referenceDataReplicator,
+                                  final OrderNumberAllocator orderNumberAllocator,
+                                  final SuggestionService suggestionService,
+                                  final ClientSummaryService clientSummaryService,
+                                  final ApplicationContext applicationContext) {
+        this.properties = properties;
+        this.shardRouter = shardRouter;
+        this.referenceDataReplicator = referenceDataReplicator;
+        this.orderNumberAllocator = orderNumberAllocator;
+        this.suggestionService = suggestionService;
+        this.clientSummaryService = clientSummaryService;
+        this.applicationContext = applicationContext;
+    }
+
+    private record Produto(long id, BigDecimal preco) {
+    }
+
+    private record Chunk(long store, LocalDate day, int orders) {
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception {
+        final long start = System.nanoTime();
+        log.info("Gerando {} pedidos em {} lojas e {} dias com {} threads", properties.orders(), properties.stores(), properties.days(), properties.threads());
+
+        final List<Produto> produtos = generateProducts();
+        final long[] clientBase = generateClients();
+        initIdCounters();
+
+        final List<Chunk> chunks = chunks();
+        final ExecutorService executor = Executors.newFixedThreadPool(properties.threads());
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (Chunk chunk : chunks) {
+                tasks.add(executor.submit(() -> {
+                    generateOrders(chunk, produtos, clientBase[(int) chunk.store() - 1]);
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        restartSequences();
+        // Os pedidos gerados entram direto no banco, depois da carga da subida
+        suggestionService.rebuild();
+        clientSummaryService.reconcile();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        log.info("Gerados {} pedidos e {} itens em {} s ({} pedidos/s)", properties.orders(), itensGerados.get(),
+                Math.round(seconds), Math.round(properties.orders() / seconds));
+
+        if (properties.exitWhenDone()) {
+            System.exit(SpringApplication.exit(applicationContext, () -> 0));
+        }
+    }
+
+    private List<Produto> generateProducts() {
+        final JdbcTemplate primary = jdbc(ShardRouter.PRIMARY);
+        List<Long> categorias = primary.queryForList("select id from categoria order by id", Long.class);
+        if (categorias.isEmpty()) {
+            // Banco novo: o profile desliga o spring.sql.init para o data.sql não ser repetido num banco já gerado
+            new ResourceDatabasePopulator(new ClassPathResource("data.sql")).execute(shardRouter.dataSource(ShardRouter.PRIMARY));
+            categorias = primary.queryForList("select id from categoria order by id", Long.class);
+        }
+
+        final SplittableRandom random = new SplittableRandom(properties.seed());
+        final long first = max(primary, "produto") + 1;
+        final List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < properties.products(); i++) {
+            final long id = first + i;
+            final BigDecimal preco = BigDecimal.valueOf(500 + random.nextInt(5500), 2);
+            rows.add(new Object[]{id, "Produto " + id, "Produto gerado para testes de escala", preco, categorias.get(random.nextInt(categorias.size()))});
+        }
+        primary.batchUpdate("insert into produto (id, nome, descricao, preco_venda, categoria_id) values (?, ?, ?, ?, ?)", rows);
+        restartSequence(primary, "produto");
+        referenceDataReplicator.replicateAll();
+
+        // Embaralha para que os mais vendidos não sejam simplesmente os de menor id
+        final List<Produto> produtos = new ArrayList<>(primary.query("select id, preco_venda from produto",
+                (rs, n) -> new Produto(rs.getLong(1), rs.getBigDecimal(2))));
+        for (int i = produtos.size() - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            produtos.set(i, produtos.set(j, produtos.get(i)));
+        }
+        return produtos;
+    }
+
+    /**
+     * Cria os clientes de cada loja com ids consecutivos e devolve o primeiro id de cada loja.
+     */
+    private long[] generateClients() {
+        final long[] base = new long[properties.stores()];
+        long next = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            next = Math.max(next, max(jdbc(shard), "cliente") + 1);
+        }
+
+        for (int store = 1; store <= properties.stores(); store++) {
+            base[store - 1] = next;
+            final long storeId = store;
+            final long first = next;
+            final JdbcTemplate jdbc = jdbc(shardRouter.shardFor(storeId));
+            for (int from = 0; from < properties.clientsPerStore(); from += properties.batchSize() * 10) {
+                final List<Object[]> rows = new ArrayList<>();
+                for (int i = from; i < Math.min(properties.clientsPerStore(), from + properties.batchSize() * 10); i++) {
+                    // Telefone derivado do id: único entre lojas e entre execuções
+                    rows.add(new Object[]{first + i, storeId, "Cliente " + (first + i), String.format("47%09d", first + i)});
+                }
+                jdbc.batchUpdate("insert into cliente (id, loja_id, nome, telefone) values (?, ?, ?, ?)", rows);
+            }
+            next += properties.clientsPerStore();
+        }
+        return base;
+    }
+
+    private void initIdCounters() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            final JdbcTemplate jdbc = jdbc(shard);
+            pedidoIds.accumulateAndGet(max(jdbc, "pedido"), Math::max);
+            pagamentoIds.accumulateAndGet(max(jdbc, "pagamento"), Math::max);
+            itemIds.accumulateAndGet(max(jdbc, "item_pedido"), Math::max);
+        }
+    }
+
+    /**
+     * Divide os pedidos entre lojas e dias, com mais movimento no fim de semana. O histórico termina no dia
+     * de negócio anterior ao atual, para não disputar a numeração com os pedidos reais.
+     */
+    private List<Chunk> chunks() {
+        final LocalDate last = orderNumberAllocator.businessDay().minusDays(1);
+        final LocalDate first = last.minusDays(properties.days() - 1L);
+
+        double totalWeight = 0;
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            totalWeight += weight(day.getDayOfWeek());
+        }
+
+        final List<Chunk> chunks = new ArrayList<>();
+        long assigned = 0;
+        for (int store = 1; store <= properties.stores(); store++) {
+            for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+                final long target = Math.round(properties.orders() * (weight(day.getDayOfWeek()) / totalWeight) / properties.stores());
+                final boolean lastChunk = store == properties.stores() && day.equals(last);
+                final int orders = (int) (lastChunk ? properties.orders() - assigned : Math.min(target, properties.orders() - assigned));
+                if (orders > 0) {
+                    chunks.add(new Chunk(store, day, orders));
+                    assigned += orders;
+                }
+            }
+        }
+        return chunks;
+    }
+
+    private static double weight(final DayOfWeek dayOfWeek) {
+        return switch (dayOfWeek) {
+            case MONDAY -> 0.7;
+            case FRIDAY, SATURDAY -> 1.4;
+            case SUNDAY -> 1.2;
+            default -> 1.0;
+        };
+    }
+
+    private void generateOrders(final Chunk chunk, final List<Produto> produtos, final long clientBase) throws SQLException {
+        final SplittableRandom random = new SplittableRandom(properties.seed() ^ (chunk.store() * 31 + chunk.day().toEpochDay()));
+        final ZipfSampler productSampler = new ZipfSampler(produtos.size(), properties.productSkew());
+        final ZipfSampler clientSampler = new ZipfSampler(properties.clientsPerStore(), properties.clientSkew());
+
+        // Horários ordenados: o número do pedido no dia segue a ordem de chegada
+        final int[] minutes = new int[chunk.orders()];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = minuteOfDay(random);
+        }
+        Arrays.sort(minutes);
+
+        final DataSource dataSource = shardRouter.dataSource(shardRouter.shardFor(chunk.store()));
+        // Numeração do dia continua a de uma execução anterior
+        final int firstNumber = lastNumber(new JdbcTemplate(dataSource), chunk);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pagamentos = connection.prepareStatement(INSERT_PAGAMENTO);
+             PreparedStatement pedidos = connection.prepareStatement(INSERT_PEDIDO);
+             PreparedStatement itens = connection.prepareStatement(INSERT_ITEM)) {
+            connection.setAutoCommit(false);
+
+            for (int from = 0; from < minutes.length; from += properties.batchSize()) {
+                final int to = Math.min(minutes.length, from + properties.batchSize());
+                long pedidoId = pedidoIds.getAndAdd(to - from) + 1;
+                long pagamentoId = pagamentoIds.getAndAdd(to - from) + 1;
+
+                for (int i = from; i < to; i++, pedidoId++, pagamentoId++) {
+                    final int count = itemCount(random);
+                    final long firstItem = itemIds.getAndAdd(count) + 1;
+                    BigDecimal total = BigDecimal.ZERO;
+                    for (int item = 0; item < count; item++) {
+                        final Produto produto = produtos.get(productSampler.sample(random));
+                        final int quantidade = quantity(random);
+                        total = total.add(produto.preco().multiply(BigDecimal.valueOf(quantidade)));
+
+                        itens.setLong(1, firstItem + item);
+                        itens.setLong(2, chunk.store());
+                        itens.setInt(3, quantidade);
+                        itens.setBigDecimal(4, produto.preco());
+                        itens.setLong(5, pedidoId);
+                        itens.setLong(6, produto.id());
+                        itens.addBatch();
+                    }
+                    itensGerados.addAndGet(count);
+                    total = total.setScale(2, RoundingMode.HALF_UP);
+
+                    pagamentos.setLong(1, pagamentoId);
+                    pagamentos.setBigDecimal(2, total);
+                    pagamentos.setString(3, formaPagamento(random));
+                    pagamentos.addBatch();
+
+                    pedidos.setLong(1, pedidoId);
+                    pedidos.setLong(2, chunk.store());
+                    pedidos.setInt(3, firstNumber + i + 1);
+                    pedidos.setDate(4, Date.valueOf(chunk.day()));
+                    pedidos.setTimestamp(5, Timestamp.valueOf(LocalDateTime.of(chunk.day(), ABERTURA.plusMinutes(minutes[i]))
+                            .plusSeconds(random.nextInt(60))));
+                    pedidos.setBigDecimal(6, total);
+                    pedidos.setLong(7, clientBase + clientSampler.sample(random));
+                    pedidos.setLong(8, pagamentoId);
+                    pedidos.addBatch();
+                }
+
+                // Ordem das FKs: pagamento -> pedido -> item_pedido
+                pagamentos.executeBatch();
+                pedidos.executeBatch();
+                itens.executeBatch();
+                connection.commit();
+            }
+
+            // Cada loja e dia é de uma única tarefa: update e, se o dia ainda não existe, insert, sem disputa
+            try (PreparedStatement update = connection.prepareStatement(
+                    "update numeracao_pedido set ultimo_numero = ? where loja_id = ? and data_negocio = ?");
+                 PreparedStatement insert = connection.prepareStatement(
+                         "insert into numeracao_pedido (ultimo_numero, loja_id, data_negocio) values (?, ?, ?)")) {
+                for (PreparedStatement numeracao : List.of(update, insert)) {
+                    numeracao.setInt(1, firstNumber + minutes.length);
+                    numeracao.setLong(2, chunk.store());
+                    numeracao.setDate(3, Date.valueOf(chunk.day()));
+                    if (numeracao.executeUpdate() > 0) {
+                        break;
+                    }
+                }
+                connection.commit();
+            }
+        }
+    }
+
+    private static int lastNumber(final JdbcTemplate jdbc, final Chunk chunk) {
+        final List<Integer> last = jdbc.queryForList("select ultimo_numero from numeracao_pedido where loja_id = ? and data_negocio = ?",
+                Integer.class, chunk.store(), Date.valueOf(chunk.day()));
+        return last.isEmpty() ? 0 : last.get(0);
+    }
+
+    // Almoço (45%), jantar (40%) e movimento contínuo no resto do dia (15%), em minutos desde a abertura
+    private static int minuteOfDay(final SplittableRandom random) {
+        final double slot = random.nextDouble();
+        final double minute;
+        if (slot < 0.45) {
+            minute = (12.5 - 10) * 60 + gaussian(random) * 45;
+        } else if (slot < 0.85) {
+            minute = (20 - 10) * 60 + gaussian(random) * 60;
+        } else {
+            minute = random.nextDouble() * MINUTOS_ABERTO;
+        }
+        return (int) Math.max(0, Math.min(MINUTOS_ABERTO, minute));
+    }
+
+    private static double gaussian(final SplittableRandom random) {
+        // Box-Muller
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    // 1 a 8 itens, geométrico: a maioria dos pedidos tem 1 a 3 itens
+    private static int itemCount(final SplittableRandom random) {
+        int count = 1;
+        while (count < 8 && random.nextDouble() < 0.45) {
+            count++;
+        }
+        return count;
+    }
+
+    private static int quantity(final SplittableRandom random) {
+        final double p = random.nextDouble();
+        return p < 0.75 ? 1 : p < 0.95 ? 2 : 3;
+    }
+
+    private static String formaPagamento(final SplittableRandom random) {
+        final double p = random.nextDouble();
+        for (int i = 0; i < FORMAS_PAGAMENTO.length; i++) {
+            if (p < FORMAS_PAGAMENTO_PESO[i]) {
+                return FORMAS_PAGAMENTO[i];
+            }
+        }
+        return FORMAS_PAGAMENTO[FORMAS_PAGAMENTO.length - 1];
+    }
+
+    // Com pooled-lo, o próximo valor da sequence é o primeiro id do próximo bloco: basta passar do maior id gerado
+    private void restartSequences() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            final JdbcTemplate jdbc = jdbc(shard);
+            restartSequence(jdbc, "cliente");
+            restartSequence(jdbc, "pagamento");
+            restartSequence(jdbc, "item_pedido");
+            jdbc.execute("alter sequence pedido_seq restart with " + (pedidoIds.get() + 1));
+        }
+    }
+
+    private static void restartSequence(final JdbcTemplate jdbc, final String table) {
+        jdbc.execute("alter sequence " + table + "_seq restart with " + (max(jdbc, table) + 1));
+    }
+
+    private static long max(final JdbcTemplate jdbc, final String table) {
+        final Long max = jdbc.queryForObject("select max(id) from " + table, Long.class);
+        return max != null ? max : 0;
+    }
+
+    private JdbcTemplate jdbc(final int shard) {
+        return new JdbcTemplate(shardRouter.dataSource(shard));
+    }
+}
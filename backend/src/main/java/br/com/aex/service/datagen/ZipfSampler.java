@@ -0,0 +1,30 @@
+package br.com.aex.service.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia posições 0..n-1 com probabilidade proporcional a 1 / (posição + 1)^expoente.
+ * Poucas posições concentram a maior parte dos sorteios: produtos campeões de venda e clientes fiéis.
+ */
+final class ZipfSampler {
+
+    private final double[] cumulative;
+
+    ZipfSampler(final int size, final double exponent) {
+        this.cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+    }
+
+    int sample(final SplittableRandom random) {
+        final int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+}
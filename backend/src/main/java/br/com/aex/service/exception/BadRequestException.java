@@ -0,0 +1,8 @@
+package br.com.aex.service.exception;
+
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
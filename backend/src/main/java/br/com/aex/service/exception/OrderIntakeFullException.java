@@ -0,0 +1,8 @@
+package br.com.aex.service.exception;
+
+public class OrderIntakeFullException extends RuntimeException {
+
+    public OrderIntakeFullException(String message) {
+        super(message);
+    }
+}
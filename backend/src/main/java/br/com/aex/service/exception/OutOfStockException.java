@@ -0,0 +1,8 @@
+package br.com.aex.service.exception;
+
+public class OutOfStockException extends RuntimeException {
+
+    public OutOfStockException(String message) {
+        super(message);
+    }
+}
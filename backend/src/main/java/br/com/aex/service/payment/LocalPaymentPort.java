@@ -0,0 +1,35 @@
+package br.com.aex.service.payment;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Meio de pagamento local: aprova tudo após uma latência simulada.
+ * Desligado com {@code aex.payment.port} diferente de {@code local}, quando outro {@link PaymentPort} for usado.
+ */
+@Component
+@ConditionalOnProperty(name = "aex.payment.port", havingValue = "local", matchIfMissing = true)
+public class LocalPaymentPort implements PaymentPort {
+
+    private final Duration latency;
+
+    public LocalPaymentPort(@Value("${aex.payment.local.latency:0ms}") final Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public PaymentResult process(final PaymentRequest request) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Pagamento interrompido", e);
+            }
+        }
+        return PaymentResult.approve();
+    }
+}
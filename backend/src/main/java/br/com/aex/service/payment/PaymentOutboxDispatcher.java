@@ -0,0 +1,218 @@
+package br.com.aex.service.payment;
+
+import br.com.aex.entity.Pagamento;
+import br.com.aex.entity.PagamentoOutbox;
+import br.com.aex.repository.PagamentoOutboxRepository;
+import br.com.aex.repository.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static br.com.aex.service.payment.PaymentOutboxService.*;
+
+/**
+ * Envia as solicitações pendentes do outbox ao {@link PaymentPort} em lotes, fora do fluxo do pedido.
+ * Falhas são repetidas com backoff exponencial até {@code aex.payment.outbox.max-attempts}.
+ * <p>
+ * Cada lote é reservado numa transação curta (ENVIANDO); as chamadas ao meio de pagamento são feitas fora
+ * dela, sem conexão nem travas presas, e cada resultado é gravado na sua própria transação. Uma solicitação
+ * cujo resultado não foi gravado em {@code aex.payment.outbox.claim-timeout} (queda da instância, falha ao
+ * gravar) volta a ser enviada; o meio de pagamento deve deduplicar pelo id do pagamento.
+ * <p>
+ * Métricas: {@code aex.payment.outbox.dispatched} (por resultado), {@code aex.payment.outbox.batch}
+ * (duração e tamanho dos lotes) e {@code aex.payment.outbox.pending}, contado ao fim de cada ciclo: a leitura
+ * da métrica não consulta os shards.
+ * <p>
+ * O outbox fica no shard do pedido: cada ciclo percorre todos os shards.
+ */
+@Slf4j
+@Component
+public class PaymentOutboxDispatcher {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<String> CLAIMABLE = List.of(OUTBOX_PENDENTE, OUTBOX_ENVIANDO);
+
+    private final PagamentoOutboxRepository outboxRepository;
+    private final PaymentPort paymentPort;
+    private final TransactionTemplate transactionTemplate;
+    private final ShardRouter shardRouter;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration claimTimeout;
+
+    private final Counter approved;
+    private final Counter declined;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+    private final DistributionSummary batchSizes;
+    private final AtomicLong pending = new AtomicLong();
+
+    public PaymentOutboxDispatcher(final PagamentoOutboxRepository outboxRepository,
+                                   final PaymentPort paymentPort,
+                                   final TransactionTemplate transactionTemplate,
+                                   final ShardRouter shardRouter,
+                                   final MeterRegistry meterRegistry,
+                                   @Value("${aex.payment.outbox.batch-size:50}") final int batchSize,
+                                   @Value("${aex.payment.outbox.max-attempts:8}") final int maxAttempts,
+                                   @Value("${aex.payment.outbox.initial-backoff:1s}") final Duration initialBackoff,
+                                   @Value("${aex.payment.outbox.max-backoff:5m}") final Duration maxBackoff,
+                                   @Value("${aex.payment.outbox.claim-timeout:5m}") final Duration claimTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.paymentPort = paymentPort;
+        this.transactionTemplate = transactionTemplate;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.claimTimeout = claimTimeout;
+
+        this.approved = dispatched(meterRegistry, "approved");
+        this.declined = dispatched(meterRegistry, "declined");
+        this.retried = dispatched(meterRegistry, "retried");
+        this.failed = dispatched(meterRegistry, "failed");
+        this.batchTimer = Timer.builder("aex.payment.outbox.batch")
+                .description("Duração de cada lote enviado ao meio de pagamento")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("aex.payment.outbox.batch.size")
+                .description("Quantidade de solicitações por lote")
+                .register(meterRegistry);
+        Gauge.builder("aex.payment.outbox.pending", pending, AtomicLong::get)
+                .description("Solicitações de pagamento aguardando envio")
+                .register(meterRegistry);
+    }
+
+    private static Counter dispatched(final MeterRegistry meterRegistry, final String result) {
+        return Counter.builder("aex.payment.outbox.dispatched")
+                .description("Solicitações de pagamento processadas")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${aex.payment.outbox.poll-interval:1s}")
+    public void dispatch() {
+        final long[] waiting = {0};
+        shardRouter.forEachShard(() -> {
+            int claimed;
+            do {
+                claimed = batchTimer.record(this::dispatchBatch);
+            } while (claimed == batchSize);
+            waiting[0] += outboxRepository.countByStatus(OUTBOX_PENDENTE);
+        });
+        pending.set(waiting[0]);
+    }
+
+    private int dispatchBatch() {
+        final List<Claim> batch = transactionTemplate.execute(status -> claim());
+        if (!batch.isEmpty()) {
+            batchSizes.record(batch.size());
+            batch.forEach(this::deliver);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Reserva um lote numa transação curta: as linhas passam a ENVIANDO até {@code claim-timeout}, sem ficarem
+     * travadas durante as chamadas ao meio de pagamento.
+     */
+    private List<Claim> claim() {
+        final LocalDateTime now = LocalDateTime.now();
+        final List<PagamentoOutbox> batch = outboxRepository.findByStatusInAndProximaTentativaLessThanEqualOrderById(
+                CLAIMABLE, now, Limit.of(batchSize));
+        final List<Claim> claims = new ArrayList<>(batch.size());
+        for (PagamentoOutbox outbox : batch) {
+            if (OUTBOX_ENVIANDO.equals(outbox.getStatus())) {
+                log.warn("Envio do pagamento {} do pedido {} não foi concluído a tempo, reenviando", outbox.getPagamento().getId(), outbox.getPedidoId());
+            }
+            outbox.setStatus(OUTBOX_ENVIANDO);
+            outbox.setProximaTentativa(now.plus(claimTimeout));
+
+            final Pagamento pagamento = outbox.getPagamento();
+            claims.add(new Claim(outbox.getId(), new PaymentRequest(
+                    pagamento.getId(), outbox.getPedidoId(), pagamento.getValorPago(), pagamento.getFormaPagamento())));
+        }
+        return claims;
+    }
+
+    private void deliver(final Claim claim) {
+        PaymentResult result = null;
+        RuntimeException error = null;
+        try {
+            result = paymentPort.process(claim.request());
+        } catch (RuntimeException e) {
+            error = e;
+        }
+
+        final PaymentResult delivered = result;
+        final RuntimeException failure = error;
+        try {
+            transactionTemplate.executeWithoutResult(status -> record(claim, delivered, failure));
+        } catch (RuntimeException e) {
+            // A reserva expira e o pagamento é reenviado: o meio de pagamento deduplica pelo id do pagamento
+            log.error("Falha ao gravar o resultado do pagamento {} do pedido {}", claim.request().pagamentoId(), claim.request().pedidoId(), e);
+        }
+    }
+
+    private void record(final Claim claim, final PaymentResult result, final RuntimeException error) {
+        final PagamentoOutbox outbox = outboxRepository.findById(claim.outboxId()).orElse(null);
+        if (outbox == null || !OUTBOX_ENVIANDO.equals(outbox.getStatus())) {
+            log.warn("Resultado do pagamento {} descartado: a solicitação não está mais em envio", claim.request().pagamentoId());
+            return;
+        }
+        final Pagamento pagamento = outbox.getPagamento();
+
+        if (error == null) {
+            pagamento.setStatusPagamento(result.approved() ? PAGAMENTO_PAGO : PAGAMENTO_RECUSADO);
+            outbox.setStatus(OUTBOX_ENVIADO);
+            outbox.setUltimoErro(truncate(result.message()));
+            (result.approved() ? approved : declined).increment();
+            return;
+        }
+
+        final int attempts = outbox.getTentativas() + 1;
+        outbox.setTentativas(attempts);
+        outbox.setUltimoErro(truncate(error.getMessage()));
+
+        if (attempts >= maxAttempts) {
+            log.error("Pagamento {} do pedido {} falhou após {} tentativas", pagamento.getId(), outbox.getPedidoId(), attempts, error);
+            outbox.setStatus(OUTBOX_FALHA);
+            pagamento.setStatusPagamento(PAGAMENTO_FALHA);
+            failed.increment();
+        } else {
+            log.warn("Pagamento {} do pedido {} falhou (tentativa {}): {}", pagamento.getId(), outbox.getPedidoId(), attempts, error.getMessage());
+            outbox.setStatus(OUTBOX_PENDENTE);
+            outbox.setProximaTentativa(LocalDateTime.now().plus(backoff(attempts)));
+            retried.increment();
+        }
+    }
+
+    private Duration backoff(final int attempts) {
+        final Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private static String truncate(final String message) {
+        return message != null && message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+    }
+
+    private record Claim(Long outboxId, PaymentRequest request) {
+    }
+}
@@ -0,0 +1,67 @@
+package br.com.aex.service.payment;
+
+import br.com.aex.entity.Pagamento;
+import br.com.aex.entity.PagamentoOutbox;
+import br.com.aex.entity.Pedido;
+import br.com.aex.repository.PagamentoOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class PaymentOutboxService {
+
+    public static final String FORMA_PAGAMENTO_PADRAO = "DINHEIRO";
+
+    public static final String PAGAMENTO_PENDENTE = "PENDENTE";
+    public static final String PAGAMENTO_PAGO = "PAGO";
+    public static final String PAGAMENTO_RECUSADO = "RECUSADO";
+    public static final String PAGAMENTO_FALHA = "FALHA";
+
+    public static final String OUTBOX_PENDENTE = "PENDENTE";
+    public static final String OUTBOX_ENVIANDO = "ENVIANDO";
+    public static final String OUTBOX_ENVIADO = "ENVIADO";
+    public static final String OUTBOX_CANCELADO = "CANCELADO";
+    public static final String OUTBOX_FALHA = "FALHA";
+
+    private final PagamentoOutboxRepository outboxRepository;
+
+    public static Pagamento newPayment(final BigDecimal valor, final String formaPagamento) {
+        final Pagamento pagamento = new Pagamento();
+        pagamento.setValorPago(valor);
+        pagamento.setFormaPagamento(formaPagamento != null && !formaPagamento.isBlank()
+                ? formaPagamento.toUpperCase()
+                : FORMA_PAGAMENTO_PADRAO);
+        pagamento.setStatusPagamento(PAGAMENTO_PENDENTE);
+        return pagamento;
+    }
+
+    /**
+     * Registra a solicitação de pagamento do pedido. Precisa rodar na mesma transação que grava o pedido.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public PagamentoOutbox enqueue(final Pedido pedido) {
+        final LocalDateTime now = LocalDateTime.now();
+        final PagamentoOutbox outbox = new PagamentoOutbox();
+        outbox.setPagamento(pedido.getPagamento());
+        outbox.setPedidoId(pedido.getId());
+        outbox.setStatus(OUTBOX_PENDENTE);
+        outbox.setCriadoEm(now);
+        outbox.setProximaTentativa(now);
+        return outboxRepository.save(outbox);
+    }
+
+    /**
+     * Cancela a solicitação ainda não enviada do pedido, na transação que o exclui. Devolve false se ela já foi
+     * reservada para envio ou processada.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean cancel(final Pedido pedido) {
+        return outboxRepository.cancel(pedido.getId(), OUTBOX_PENDENTE, OUTBOX_CANCELADO) > 0;
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.aex.service.payment;
+
+/**
+ * Porta para o meio de pagamento. Exceções são tratadas como falha temporária e o envio é repetido.
+ */
+public interface PaymentPort {
+
+    PaymentResult process(PaymentRequest request);
+
+}
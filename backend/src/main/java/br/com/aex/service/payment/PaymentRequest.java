@@ -0,0 +1,11 @@
+package br.com.aex.service.payment;
+
+import java.math.BigDecimal;
+
+public record PaymentRequest(
+        Long pagamentoId,
+        Long pedidoId,
+        BigDecimal valor,
+        String formaPagamento
+) {
+}
@@ -0,0 +1,15 @@
+package br.com.aex.service.payment;
+
+public record PaymentResult(
+        boolean approved,
+        String message
+) {
+
+    public static PaymentResult approve() {
+        return new PaymentResult(true, null);
+    }
+
+    public static PaymentResult decline(final String message) {
+        return new PaymentResult(false, message);
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.aex.service.profiling;
+
+import br.com.aex.repository.shard.StoreContext;
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Evento JFR de uma operação de negócio: loja da requisição e comandos SQL emitidos entre {@link #startMeasuring()} e
+ * {@link #stopMeasuring()}. Com o evento desligado na recording, o custo é a criação do objeto e duas leituras de
+ * ThreadLocal.
+ */
+@Category("AEX")
+@StackTrace(false)
+public abstract class BusinessEvent extends jdk.jfr.Event {
+
+    @Label("Loja")
+    public long store;
+
+    @Label("Comandos SQL")
+    public long statements;
+
+    private transient long statementsAtStart;
+
+    protected final void startMeasuring() {
+        statementsAtStart = StatementCounter.current();
+        begin();
+    }
+
+    /**
+     * Encerra a medição; retorna {@code true} se o evento deve ser gravado, e então cabe a quem chamou preencher
+     * os campos específicos e chamar {@link #commit()}.
+     */
+    protected final boolean stopMeasuring() {
+        end();
+        if (!shouldCommit()) {
+            return false;
+        }
+        final Long current = StoreContext.store();
+        store = current != null ? current : 0;
+        statements = StatementCounter.current() - statementsAtStart;
+        return true;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.aex.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Busca de cliente por telefone. O telefone não é gravado na recording.
+ */
+@Name("br.com.aex.ClientLookup")
+@Label("Busca de cliente por telefone")
+@Category({"AEX", "Clientes"})
+public class ClientLookupEvent extends BusinessEvent {
+
+    @Label("Encontrado")
+    public boolean found;
+
+    @Label("Projeção")
+    public boolean projection;
+
+    public static ClientLookupEvent start(final boolean projection) {
+        final ClientLookupEvent event = new ClientLookupEvent();
+        event.projection = projection;
+        event.startMeasuring();
+        return event;
+    }
+
+    public void finish(final boolean found) {
+        if (stopMeasuring()) {
+            this.found = found;
+            commit();
+        }
+    }
+}
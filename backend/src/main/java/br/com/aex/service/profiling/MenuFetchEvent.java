@@ -0,0 +1,34 @@
+package br.com.aex.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Leitura do cardápio completo.
+ */
+@Name("br.com.aex.MenuFetch")
+@Label("Leitura do cardápio")
+@Category({"AEX", "Produtos"})
+public class MenuFetchEvent extends BusinessEvent {
+
+    @Label("Produtos")
+    public int products;
+
+    @Label("Projeção")
+    public boolean projection;
+
+    public static MenuFetchEvent start(final boolean projection) {
+        final MenuFetchEvent event = new MenuFetchEvent();
+        event.projection = projection;
+        event.startMeasuring();
+        return event;
+    }
+
+    public void finish(final int products) {
+        if (stopMeasuring()) {
+            this.products = products;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package br.com.aex.service.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Criação de um pedido, da validação até o fim da transação.
+ * <p>
+ * Numa transação, o evento só é encerrado depois do commit ou rollback: o flush das inserções e o commit entram
+ * na duração e na contagem de comandos SQL.
+ */
+@Name("br.com.aex.OrderCreation")
+@Label("Criação de pedido")
+@Category({"AEX", "Pedidos"})
+public class OrderCreationEvent extends BusinessEvent {
+
+    @Label("Pedido")
+    public long orderId;
+
+    @Label("Itens")
+    public int items;
+
+    @Label("Gravado")
+    @Description("Falso se a transação foi desfeita")
+    public boolean committed;
+
+    public static OrderCreationEvent start(final int items) {
+        final OrderCreationEvent event = new OrderCreationEvent();
+        event.items = items;
+        event.startMeasuring();
+        return event;
+    }
+
+    public void finish(final Long orderId) {
+        this.orderId = orderId != null ? orderId : 0;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(orderId != null);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(final int status) {
+                complete(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private void complete(final boolean committed) {
+        if (stopMeasuring()) {
+            this.committed = committed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package br.com.aex.service.profiling;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ProfilingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer statementCounterHibernateProperties() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, StatementCounter.INSTANCE);
+    }
+}
@@ -0,0 +1,33 @@
+package br.com.aex.service.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Conta os comandos SQL que o Hibernate prepara em cada thread, para os eventos JFR informarem quantos comandos
+ * uma operação emitiu. Com batching JDBC, um lote conta como um comando.
+ * <p>
+ * Consultas feitas direto via JdbcTemplate (numeração de pedidos, outbox) não passam pelo Hibernate e não
+ * entram na contagem.
+ */
+public final class StatementCounter implements StatementInspector {
+
+    public static final StatementCounter INSTANCE = new StatementCounter();
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private StatementCounter() {
+    }
+
+    @Override
+    public String inspect(final String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Total de comandos preparados pela thread atual; a diferença entre duas leituras é o que foi emitido entre elas.
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,255 @@
+package br.com.aex.service.stock;
+
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.ShardsReadyEvent;
+import br.com.aex.service.exception.OutOfStockException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Controle de estoque por loja e produto.
+ * <p>
+ * As reservas do createOrder são feitas só em memória ({@link StripedStock}), sem travar a linha do
+ * produto no banco. Um flusher grava periodicamente a variação acumulada de cada produto em um único
+ * batch por shard (write-behind) e relê a tabela para incorporar alterações feitas por outras instâncias.
+ * <p>
+ * Recuperação: no início, o saldo de cada produto é a quantidade gravada menos os itens de pedidos criados
+ * depois do último flush (estoque.atualizado_em), que são as reservas que podem ter se perdido numa parada
+ * sem flush. A data do pedido é definida depois da reserva, então uma reserva fora do último flush sempre
+ * pertence a um pedido mais novo que ele; no pior caso uma reserva é descontada duas vezes, nunca nenhuma.
+ * Por isso todo produto movimentado no intervalo tem atualizado_em avançado no flush, mesmo quando a variação
+ * líquida é zero (uma venda e uma entrada do mesmo tamanho): senão a venda, já gravada, seria descontada de novo.
+ * Com várias instâncias servindo a mesma loja essa regra vale para os flushes de cada uma, e o saldo em
+ * memória de cada instância só enxerga as vendas das outras a cada flush.
+ */
+@Slf4j
+@Service
+public class StockService {
+
+    private static final String SELECT_ESTOQUE = "select loja_id, produto_id, quantidade from estoque";
+    private static final String SELECT_RECUPERACAO = """
+            select e.loja_id, e.produto_id, e.quantidade,
+                   (select coalesce(sum(i.quantidade), 0)
+                      from item_pedido i
+                      join pedido p on p.id = i.pedido_id
+                     where i.loja_id = e.loja_id and i.produto_id = e.produto_id
+                       and p.data_criacao > e.atualizado_em) as recentes
+              from estoque e""";
+
+    private final ShardRouter shardRouter;
+    private final int stripeCount;
+    private final Map<Key, StripedStock> stocks = new ConcurrentHashMap<>();
+
+    public StockService(final ShardRouter shardRouter,
+                        @Value("${aex.stock.stripes:0}") final int stripes) {
+        this.shardRouter = shardRouter;
+        this.stripeCount = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Reserva todos os itens ou nenhum. Dentro de uma transação, a reserva é devolvida se ela for desfeita.
+     */
+    public void reserve(final Long store, final Map<Long, Integer> quantities) {
+        final Map<Long, Integer> reserved = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> item : quantities.entrySet()) {
+            final StripedStock stock = stocks.get(new Key(store, item.getKey()));
+            if (stock == null) {
+                continue;
+            }
+            if (!stock.tryReserve(item.getValue())) {
+                release(store, reserved);
+                throw new OutOfStockException("Produto sem estoque suficiente: " + item.getKey());
+            }
+            reserved.put(item.getKey(), item.getValue());
+        }
+
+        if (!reserved.isEmpty() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(final int status) {
+                    if (status != STATUS_COMMITTED) {
+                        release(store, reserved);
+                    }
+                }
+            });
+        }
+    }
+
+    public void release(final Long store, final Map<Long, Integer> quantities) {
+        quantities.forEach((produtoId, quantity) -> {
+            final StripedStock stock = stocks.get(new Key(store, produtoId));
+            if (stock != null) {
+                stock.release(quantity);
+            }
+        });
+    }
+
+    public Optional<Long> available(final Long store, final Long produtoId) {
+        return Optional.ofNullable(stocks.get(new Key(store, produtoId))).map(StripedStock::available);
+    }
+
+    /**
+     * Entrada (ou baixa, se negativa) de estoque. O primeiro lançamento de um produto na loja passa a controlá-lo.
+     */
+    public long addStock(final Long store, final Long produtoId, final long quantity) {
+        final Key key = new Key(store, produtoId);
+        StripedStock stock = stocks.get(key);
+        if (stock == null) {
+            stock = register(key, quantity);
+        } else if (quantity >= 0) {
+            stock.release(quantity);
+        } else if (!stock.tryReserve(-quantity)) {
+            throw new OutOfStockException("Baixa maior que o saldo do produto: " + produtoId);
+        }
+        return stock.available();
+    }
+
+    private StripedStock register(final Key key, final long quantity) {
+        if (quantity < 0) {
+            throw new OutOfStockException("Produto sem estoque: " + key.produtoId());
+        }
+        final int shard = shardRouter.shardFor(key.store());
+        try {
+            jdbc(shard).update("insert into estoque (loja_id, produto_id, quantidade, atualizado_em) values (?, ?, ?, ?)",
+                    key.store(), key.produtoId(), quantity, Timestamp.valueOf(LocalDateTime.now()));
+            return stocks.computeIfAbsent(key, k -> new StripedStock(quantity, stripeCount));
+        } catch (DuplicateKeyException e) {
+            // Outra requisição ou instância registrou o produto antes: vira uma entrada comum
+            final StripedStock stock = stocks.computeIfAbsent(key, k -> load(shard, k));
+            stock.release(quantity);
+            return stock;
+        }
+    }
+
+    private StripedStock load(final int shard, final Key key) {
+        final long quantity = jdbc(shard).queryForObject("select quantidade from estoque where loja_id = ? and produto_id = ?",
+                Long.class, key.store(), key.produtoId());
+        return new StripedStock(quantity, stripeCount);
+    }
+
+    @EventListener(ShardsReadyEvent.class)
+    public void recover() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            final List<Map<String, Object>> rows = jdbc(shard).queryForList(SELECT_RECUPERACAO);
+            for (Map<String, Object> row : rows) {
+                final Key key = key(row);
+                final long persisted = ((Number) row.get("quantidade")).longValue();
+                final long recent = ((Number) row.get("recentes")).longValue();
+
+                final StripedStock stock = new StripedStock(Math.max(0, persisted - recent), stripeCount);
+                // As reservas recuperadas ainda não estão no banco: entram no próximo flush
+                if (recent != 0) {
+                    stock.restorePending(-recent);
+                }
+                stock.lastPersisted(persisted);
+                stocks.put(key, stock);
+                if (recent > 0) {
+                    log.info("Estoque loja {} produto {}: {} unidades de pedidos posteriores ao último flush", key.store(), key.produtoId(), recent);
+                }
+            }
+        }
+        log.info("Estoque carregado: {} produtos controlados", stocks.size());
+    }
+
+    @Scheduled(fixedDelayString = "${aex.stock.flush-interval:1s}")
+    public void flush() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                flush(shard);
+            } catch (RuntimeException e) {
+                log.error("Falha ao gravar estoque do shard {}", shard, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    private synchronized void flush(final int shard) {
+        final Map<Key, Long> flushed = new LinkedHashMap<>();
+        final List<Object[]> batch = new ArrayList<>();
+        // Instante anterior à coleta: toda reserva que ficar fora deste flush é de um pedido mais novo que ele
+        final Timestamp flushedAt = Timestamp.valueOf(LocalDateTime.now());
+
+        stocks.forEach((key, stock) -> {
+            if (shardRouter.shardFor(key.store()) != shard) {
+                return;
+            }
+            final boolean touched = stock.drainTouched();
+            final long delta = stock.drainPending();
+            flushed.put(key, delta);
+            if (touched || delta != 0) {
+                batch.add(new Object[]{delta, flushedAt, key.store(), key.produtoId()});
+            }
+        });
+
+        try {
+            if (!batch.isEmpty()) {
+                transaction(shard).executeWithoutResult(status -> jdbc(shard).batchUpdate(
+                        "update estoque set quantidade = quantidade + ?, atualizado_em = ? where loja_id = ? and produto_id = ?", batch));
+            }
+        } catch (RuntimeException e) {
+            flushed.forEach((key, delta) -> stocks.get(key).restorePending(delta));
+            throw e;
+        }
+
+        reconcile(shard, flushed);
+    }
+
+    /**
+     * Relê o saldo gravado e aplica em memória o que mudou além do que esta instância gravou.
+     */
+    private void reconcile(final int shard, final Map<Key, Long> flushed) {
+        for (Map<String, Object> row : jdbc(shard).queryForList(SELECT_ESTOQUE)) {
+            final Key key = key(row);
+            final long persisted = ((Number) row.get("quantidade")).longValue();
+            final StripedStock stock = stocks.computeIfAbsent(key, k -> new StripedStock(persisted, stripeCount));
+
+            final long expected = stock.lastPersisted() + flushed.getOrDefault(key, 0L);
+            final long foreign = persisted - expected;
+            if (foreign != 0 && flushed.containsKey(key)) {
+                final long shortfall = stock.adjust(foreign);
+                if (shortfall > 0) {
+                    log.warn("Estoque loja {} produto {}: {} unidades vendidas a mais entre instâncias", key.store(), key.produtoId(), shortfall);
+                }
+            }
+            stock.lastPersisted(persisted);
+        }
+    }
+
+    private static Key key(final Map<String, Object> row) {
+        return new Key(((Number) row.get("loja_id")).longValue(), ((Number) row.get("produto_id")).longValue());
+    }
+
+    private JdbcTemplate jdbc(final int shard) {
+        return new JdbcTemplate(shardRouter.dataSource(shard));
+    }
+
+    private TransactionTemplate transaction(final int shard) {
+        return new TransactionTemplate(new DataSourceTransactionManager(shardRouter.dataSource(shard)));
+    }
+
+    private record Key(Long store, Long produtoId) {
+    }
+}
@@ -0,0 +1,147 @@
+package br.com.aex.service.stock;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Saldo de um produto em memória, dividido em faixas (stripes) para que threads diferentes reservem em
+ * contadores diferentes sem disputar a mesma linha de cache.
+ * <p>
+ * Reserva rápida: CAS na faixa da thread e, se ela não tiver saldo, nas demais. Só quando nenhuma faixa
+ * sozinha cobre a quantidade a reserva passa por um caminho travado, que junta o saldo de todas as faixas.
+ * O saldo total nunca fica negativo.
+ * <p>
+ * {@link #pending()} acumula as variações ainda não gravadas no banco (reservas negativas, devoluções e
+ * entradas positivas). {@link #drainTouched()} diz se houve alguma variação no intervalo, mesmo que a soma
+ * delas seja zero.
+ */
+public final class StripedStock {
+
+    // Cada faixa ocupa sua própria linha de cache (8 longs = 64 bytes)
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray stripes;
+    private final int mask;
+    private final LongAdder pending = new LongAdder();
+    private final AtomicBoolean touched = new AtomicBoolean();
+
+    // Quantidade lida do banco no último flush; usada para detectar alterações feitas por outras instâncias
+    private long lastPersisted;
+
+    public StripedStock(final long available, final int stripeCount) {
+        final int count = stripeCount <= 1 ? 1 : Integer.highestOneBit(stripeCount - 1) << 1;
+        this.stripes = new AtomicLongArray(count * PADDING);
+        this.mask = count - 1;
+        this.lastPersisted = available;
+        distribute(available);
+    }
+
+    public boolean tryReserve(final long quantity) {
+        final int start = (int) Thread.currentThread().threadId();
+        for (int i = 0; i <= mask; i++) {
+            final int index = slot(start + i);
+            long value = stripes.get(index);
+            while (value >= quantity) {
+                if (stripes.compareAndSet(index, value, value - quantity)) {
+                    addPending(-quantity);
+                    return true;
+                }
+                value = stripes.get(index);
+            }
+        }
+        return reserveAcrossStripes(quantity);
+    }
+
+    public void release(final long quantity) {
+        stripes.addAndGet(slot((int) Thread.currentThread().threadId()), quantity);
+        addPending(quantity);
+    }
+
+    public long available() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += stripes.get(slot(i));
+        }
+        return total;
+    }
+
+    /**
+     * Aplica uma variação vinda de fora desta instância (não entra em {@link #pending()}).
+     * Retorna quanto de uma redução não pôde ser descontado por falta de saldo.
+     */
+    synchronized long adjust(final long delta) {
+        if (delta >= 0) {
+            stripes.addAndGet(slot(0), delta);
+            return 0;
+        }
+        final long total = drain();
+        distribute(Math.max(0, total + delta));
+        return Math.max(0, -(total + delta));
+    }
+
+    long drainPending() {
+        return pending.sumThenReset();
+    }
+
+    /**
+     * Deve ser chamado antes de {@link #drainPending()}: uma variação que entrar entre os dois fica marcada
+     * para o próximo flush.
+     */
+    boolean drainTouched() {
+        return touched.getAndSet(false);
+    }
+
+    void restorePending(final long delta) {
+        addPending(delta);
+    }
+
+    long pending() {
+        return pending.sum();
+    }
+
+    long lastPersisted() {
+        return lastPersisted;
+    }
+
+    void lastPersisted(final long quantity) {
+        this.lastPersisted = quantity;
+    }
+
+    private synchronized boolean reserveAcrossStripes(final long quantity) {
+        final long total = drain();
+        final boolean reserved = total >= quantity;
+        distribute(reserved ? total - quantity : total);
+        if (reserved) {
+            addPending(-quantity);
+        }
+        return reserved;
+    }
+
+    // Lê antes de escrever para que o caminho rápido não dispute a linha de cache da flag
+    private void addPending(final long delta) {
+        pending.add(delta);
+        if (!touched.get()) {
+            touched.set(true);
+        }
+    }
+
+    private long drain() {
+        long total = 0;
+        for (int i = 0; i <= mask; i++) {
+            total += stripes.getAndSet(slot(i), 0);
+        }
+        return total;
+    }
+
+    private void distribute(final long total) {
+        final int count = mask + 1;
+        for (int i = 0; i < count; i++) {
+            stripes.addAndGet(slot(i), total / count + (i < total % count ? 1 : 0));
+        }
+    }
+
+    private int slot(final int stripe) {
+        return (stripe & mask) * PADDING;
+    }
+}
@@ -0,0 +1,151 @@
+package br.com.aex.service.suggestion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quantos pedidos contêm cada par de produtos, mantida em memória.
+ * <p>
+ * Cada produto tem uma linha esparsa ({@link LongIntCounter}) com a contagem de pedidos em que apareceu junto
+ * de cada outro produto. A matriz é simétrica: um pedido com os produtos A e B soma 1 em A→B e em B→A, e um
+ * pedido com k produtos distintos faz k·(k-1) incrementos. Cada linha tem seu próprio lock, mantido só
+ * durante os incrementos ou a leitura da linha.
+ */
+public final class CoOccurrenceMatrix {
+
+    private final Map<Long, LongIntCounter> rows = new ConcurrentHashMap<>();
+
+    public record Suggestion(long productId, int orders) {
+    }
+
+    /**
+     * Soma {@code delta} (1 ao gravar um pedido, -1 ao excluir) a todos os pares de {@code products}, que não
+     * podem ter repetições.
+     */
+    public void record(final long[] products, final int delta) {
+        for (long product : products) {
+            final LongIntCounter row = row(product);
+            synchronized (row) {
+                for (long other : products) {
+                    if (other != product) {
+                        row.add(other, delta);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Carga inicial: soma {@code orders} a um único sentido do par; quem carrega chama também o sentido inverso.
+     */
+    public void add(final long product, final long other, final int orders) {
+        final LongIntCounter row = row(product);
+        synchronized (row) {
+            row.add(other, orders);
+        }
+    }
+
+    public int orders(final long product, final long other) {
+        final LongIntCounter row = rows.get(product);
+        if (row == null) {
+            return 0;
+        }
+        synchronized (row) {
+            return row.get(other);
+        }
+    }
+
+    /**
+     * Os {@code limit} produtos que mais aparecem junto dos produtos da cesta, somando as linhas de todos eles,
+     * sem os próprios produtos da cesta. Empates saem pelo menor id.
+     */
+    public List<Suggestion> top(final long[] basket, final int limit) {
+        final TopN top = new TopN(limit);
+        if (basket.length == 1) {
+            final LongIntCounter row = rows.get(basket[0]);
+            if (row != null) {
+                synchronized (row) {
+                    row.forEach((other, orders) -> top.offer(other, orders));
+                }
+            }
+            return top.result();
+        }
+
+        final LongIntCounter merged = new LongIntCounter(16);
+        for (long product : basket) {
+            final LongIntCounter row = rows.get(product);
+            if (row != null) {
+                synchronized (row) {
+                    row.forEach(merged::add);
+                }
+            }
+        }
+        merged.forEach((other, orders) -> {
+            if (!contains(basket, other)) {
+                top.offer(other, orders);
+            }
+        });
+        return top.result();
+    }
+
+    public int products() {
+        return rows.size();
+    }
+
+    private LongIntCounter row(final long product) {
+        return rows.computeIfAbsent(product, p -> new LongIntCounter(16));
+    }
+
+    private static boolean contains(final long[] values, final long value) {
+        for (long v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Seleção dos N maiores por inserção em arrays ordenados: N é pequeno, e isso evita ordenar a linha inteira.
+     */
+    private static final class TopN {
+
+        private final long[] ids;
+        private final int[] orders;
+        private int size;
+
+        TopN(final int limit) {
+            ids = new long[limit];
+            orders = new int[limit];
+        }
+
+        void offer(final long id, final int count) {
+            if (count <= 0 || (size == ids.length && !before(count, id, size - 1))) {
+                return;
+            }
+            int i = Math.min(size, ids.length - 1);
+            while (i > 0 && before(count, id, i - 1)) {
+                ids[i] = ids[i - 1];
+                orders[i] = orders[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            orders[i] = count;
+            size = Math.min(size + 1, ids.length);
+        }
+
+        private boolean before(final int count, final long id, final int index) {
+            return count > orders[index] || (count == orders[index] && id < ids[index]);
+        }
+
+        List<Suggestion> result() {
+            final List<Suggestion> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new Suggestion(ids[i], orders[i]));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.aex.service.suggestion;
+
+/**
+ * Contadores int indexados por long, em endereçamento aberto sobre arrays primitivos: sem boxing nem um objeto
+ * por entrada. A chave 0 é reservada para posição vazia (ids de produto começam em 1).
+ * <p>
+ * Não é thread-safe; {@link CoOccurrenceMatrix} sincroniza o acesso.
+ */
+final class LongIntCounter {
+
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private int[] counts;
+    private int size;
+
+    LongIntCounter(final int expected) {
+        final int capacity = Integer.highestOneBit(Math.max(4, expected * 2) - 1) << 1;
+        keys = new long[capacity];
+        counts = new int[capacity];
+    }
+
+    void add(final long key, final int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Chave 0 é reservada");
+        }
+        final int mask = keys.length - 1;
+        for (int i = slot(key, mask); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                counts[i] += delta;
+                return;
+            }
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                counts[i] = delta;
+                // Carga máxima de 50%: sondagens curtas mesmo com chaves sequenciais
+                if (++size * 2 > keys.length) {
+                    grow();
+                }
+                return;
+            }
+        }
+    }
+
+    int get(final long key) {
+        final int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return counts[i];
+            }
+        }
+        return 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void forEach(final Visitor visitor) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                visitor.visit(keys[i], counts[i]);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+
+        void visit(long key, int count);
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                add(oldKeys[i], oldCounts[i]);
+            }
+        }
+    }
+
+    private static int slot(final long key, final int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,100 @@
+package br.com.aex.service.suggestion;
+
+import br.com.aex.entity.ItemPedido;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.ShardsReadyEvent;
+import br.com.aex.service.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sugestões "comprados juntos" para o checkout, servidas da {@link CoOccurrenceMatrix} em memória.
+ * <p>
+ * A matriz é reconstruída a partir de item_pedido de todos os shards quando eles ficam prontos, e depois
+ * mantida a cada pedido gravado ou excluído, só depois do commit. Ela conta pedidos de todas as lojas: o
+ * cardápio é o mesmo em todas e o volume da rede dá sugestões melhores que o de uma loja só.
+ */
+@Slf4j
+@Service
+public class SuggestionService {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Pares de produtos distintos no mesmo pedido; um produto repetido no pedido conta uma vez
+    private static final String SELECT_PARES = """
+            select a.produto_id as produto, b.produto_id as outro, count(distinct a.pedido_id) as pedidos
+              from item_pedido a
+              join item_pedido b on b.pedido_id = a.pedido_id and b.produto_id <> a.produto_id
+             group by a.produto_id, b.produto_id""";
+
+    private final ShardRouter shardRouter;
+    private volatile CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+
+    public SuggestionService(final ShardRouter shardRouter) {
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Monta uma matriz nova e troca a atual. Pedidos gravados durante a reconstrução podem ficar de fora da nova
+     * matriz; na subida ainda não há tráfego.
+     */
+    @EventListener(ShardsReadyEvent.class)
+    public void rebuild() {
+        final long start = System.nanoTime();
+        final CoOccurrenceMatrix rebuilt = new CoOccurrenceMatrix();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            new JdbcTemplate(shardRouter.dataSource(shard)).query(SELECT_PARES, (RowCallbackHandler) rs ->
+                    rebuilt.add(rs.getLong("produto"), rs.getLong("outro"), rs.getInt("pedidos")));
+        }
+        matrix = rebuilt;
+        log.info("Sugestões carregadas: {} produtos em {} ms", rebuilt.products(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Conta o pedido na matriz quando a transação atual for confirmada.
+     */
+    public void recordAfterCommit(final List<ItemPedido> itens) {
+        afterCommit(itens, 1);
+    }
+
+    /**
+     * Desconta o pedido da matriz quando a transação atual for confirmada.
+     */
+    public void removeAfterCommit(final List<ItemPedido> itens) {
+        afterCommit(itens, -1);
+    }
+
+    public List<CoOccurrenceMatrix.Suggestion> suggestions(final Collection<Long> basket, final int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("O limite de sugestões deve estar entre 1 e " + MAX_LIMIT + ", recebido: " + limit);
+        }
+        final long[] products = basket.stream().mapToLong(Long::longValue).distinct().toArray();
+        return matrix.top(products, limit);
+    }
+
+    private void afterCommit(final List<ItemPedido> itens, final int delta) {
+        // Produtos lidos agora: depois do commit a entidade pode não estar mais carregável
+        final long[] products = itens.stream().mapToLong(item -> item.getProduto().getId()).distinct().toArray();
+        if (products.length < 2) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            matrix.record(products, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                matrix.record(products, delta);
+            }
+        });
+    }
+}
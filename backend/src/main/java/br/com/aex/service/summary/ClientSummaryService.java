@@ -0,0 +1,184 @@
+package br.com.aex.service.summary;
+
+import br.com.aex.entity.Pedido;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.ShardsReadyEvent;
+import br.com.aex.repository.shard.Workload;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+/**
+ * Resumo dos pedidos de cada cliente (quantidade, total gasto e data do último pedido), gravado nas colunas de
+ * cliente para a listagem e a consulta de clientes não precisarem ler os pedidos.
+ * <p>
+ * O resumo é incrementado por SQL na mesma transação que grava ou exclui o pedido, sem carregar o cliente; a
+ * entidade só lê essas colunas, então salvar um cliente nunca sobrescreve o resumo. Gravações que não passam por
+ * aqui (cargas via SQL, correções manuais) são corrigidas pela reconciliação periódica.
+ */
+@Slf4j
+@Service
+public class ClientSummaryService {
+
+    private static final String UPDATE_PEDIDOS = """
+            update cliente
+               set total_pedidos = total_pedidos + ?,
+                   total_gasto = total_gasto + ?,
+                   ultimo_pedido = case when ultimo_pedido is null or ultimo_pedido < ? then ? else ultimo_pedido end
+             where id = ?""";
+    // O último pedido pode ter sido o excluído: recalculado a partir dos pedidos restantes
+    private static final String UPDATE_EXCLUSAO = """
+            update cliente
+               set total_pedidos = total_pedidos - 1,
+                   total_gasto = total_gasto - ?,
+                   ultimo_pedido = (select max(p.data_criacao) from pedido p where p.cliente_id = cliente.id)
+             where id = ?""";
+
+    private static final String SELECT_DIVERGENTES = """
+            select c.id, c.total_pedidos, c.total_gasto, c.ultimo_pedido
+              from cliente c
+              left join (select cliente_id, count(*) as pedidos, coalesce(sum(valor), 0) as gasto, max(data_criacao) as ultimo
+                           from pedido
+                          group by cliente_id) p on p.cliente_id = c.id
+             where c.total_pedidos <> coalesce(p.pedidos, 0)
+                or c.total_gasto <> coalesce(p.gasto, 0)
+                or c.ultimo_pedido is distinct from p.ultimo""";
+    // Só corrige se o resumo ainda for o lido: se um pedido o alterou nesse meio tempo, fica para a próxima execução
+    private static final String UPDATE_RECALCULO = """
+            update cliente
+               set total_pedidos = (select count(*) from pedido p where p.cliente_id = cliente.id),
+                   total_gasto = (select coalesce(sum(p.valor), 0) from pedido p where p.cliente_id = cliente.id),
+                   ultimo_pedido = (select max(p.data_criacao) from pedido p where p.cliente_id = cliente.id)
+             where id = ? and total_pedidos = ? and total_gasto = ? and ultimo_pedido is not distinct from ?""";
+    private static final int[] RECALCULO_TYPES = {Types.BIGINT, Types.BIGINT, Types.NUMERIC, Types.TIMESTAMP};
+
+    private final EntityManager entityManager;
+    private final ShardRouter shardRouter;
+
+    public ClientSummaryService(final EntityManager entityManager, final ShardRouter shardRouter) {
+        this.entityManager = entityManager;
+        this.shardRouter = shardRouter;
+    }
+
+    /**
+     * Soma os pedidos ao resumo dos seus clientes, na transação atual: um update por cliente, num único batch.
+     */
+    public void record(final Collection<Pedido> pedidos) {
+        // Ordenados por cliente: transações concorrentes travam as linhas sempre na mesma ordem
+        final Map<Long, Delta> deltas = new TreeMap<>();
+        for (Pedido pedido : pedidos) {
+            deltas.computeIfAbsent(pedido.getCliente().getId(), id -> new Delta()).add(pedido);
+        }
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_PEDIDOS)) {
+                for (Map.Entry<Long, Delta> entry : deltas.entrySet()) {
+                    final Delta delta = entry.getValue();
+                    final Timestamp ultimo = delta.ultimo != null ? Timestamp.valueOf(delta.ultimo) : null;
+                    statement.setLong(1, delta.pedidos);
+                    statement.setBigDecimal(2, delta.gasto);
+                    statement.setTimestamp(3, ultimo);
+                    statement.setTimestamp(4, ultimo);
+                    statement.setLong(5, entry.getKey());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    public void record(final Pedido pedido) {
+        record(List.of(pedido));
+    }
+
+    /**
+     * Desconta do resumo um pedido já removido na transação atual.
+     */
+    public void remove(final Pedido pedido) {
+        // A exclusão precisa estar no banco para o último pedido ser recalculado sem ela
+        entityManager.flush();
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(UPDATE_EXCLUSAO)) {
+                statement.setBigDecimal(1, valor(pedido));
+                statement.setLong(2, pedido.getCliente().getId());
+                statement.executeUpdate();
+            }
+        });
+    }
+
+    /**
+     * Recalcula a partir dos pedidos o resumo dos clientes que divergem dele, em todos os shards.
+     */
+    @EventListener(ShardsReadyEvent.class)
+    @Scheduled(initialDelayString = "${aex.client.summary.reconcile-interval:1h}", fixedDelayString = "${aex.client.summary.reconcile-interval:1h}")
+    public void reconcile() {
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            try {
+                reconcile(shard);
+            } catch (RuntimeException e) {
+                log.error("Falha ao reconciliar o resumo de pedidos dos clientes do shard {}", shard, e);
+            }
+        }
+    }
+
+    private void reconcile(final int shard) {
+        // Varredura pesada: usa o pool administrativo para não ocupar as conexões dos clientes
+        final DataSource dataSource = shardRouter.dataSource(shard, Workload.ADMIN);
+        final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        final List<Object[]> divergentes = jdbc.query(SELECT_DIVERGENTES, (rs, rowNum) -> new Object[]{
+                rs.getLong("id"), rs.getLong("total_pedidos"), rs.getBigDecimal("total_gasto"), rs.getTimestamp("ultimo_pedido")});
+        if (divergentes.isEmpty()) {
+            return;
+        }
+        final int[][] counts = new TransactionTemplate(new DataSourceTransactionManager(dataSource))
+                .execute(status -> jdbc.batchUpdate(UPDATE_RECALCULO, divergentes, divergentes.size(),
+                        (statement, row) -> {
+                            for (int i = 0; i < row.length; i++) {
+                                statement.setObject(i + 1, row[i], RECALCULO_TYPES[i]);
+                            }
+                        }));
+        int corrigidos = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                corrigidos += Math.max(count, 0);
+            }
+        }
+        log.info("Resumo de pedidos recalculado para {} de {} clientes divergentes no shard {}", corrigidos, divergentes.size(), shard);
+    }
+
+    private static BigDecimal valor(final Pedido pedido) {
+        return pedido.getValor() != null ? pedido.getValor() : BigDecimal.ZERO;
+    }
+
+    private static final class Delta {
+
+        private long pedidos;
+        private BigDecimal gasto = BigDecimal.ZERO;
+        private LocalDateTime ultimo;
+
+        void add(final Pedido pedido) {
+            pedidos++;
+            gasto = gasto.add(valor(pedido));
+            if (pedido.getDataCriacao() != null && (ultimo == null || pedido.getDataCriacao().isAfter(ultimo))) {
+                ultimo = pedido.getDataCriacao();
+            }
+        }
+    }
+}
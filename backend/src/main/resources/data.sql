@@ -1,52 +1,72 @@
-INSERT INTO cliente (nome, telefone)
-VALUES ('Cliente 01', '48900000001'),
-       ('Cliente 02', '48900000002'),
-       ('Cliente 03', '48900000003');
-
-INSERT INTO categoria (nome)
-VALUES ('LANCHE'),
-       ('ACOMPANHAMENTO'),
-       ('BEBIDA'),
-       ('SOBREMESA'),
-       ('COMBO'),
-       ('ESPECIAL');
-
-INSERT INTO produto (preco_venda, categoria_id, descricao, nome)
-VALUES (28.90, 1, 'Pão brioche, hambúrguer artesanal 180g, queijo, alface, tomate e maionese da casa.',
+-- Clientes e pedidos pertencem a uma loja (loja_id); os dados de exemplo são da loja 1
+-- Os ids vêm de sequences, por isso são informados aqui e cada sequence é reposicionada em seguida
+INSERT INTO cliente (id, loja_id, nome, telefone)
+VALUES (1, 1, 'Cliente 01', '48900000001'),
+       (2, 1, 'Cliente 02', '48900000002'),
+       (3, 1, 'Cliente 03', '48900000003');
+
+ALTER SEQUENCE cliente_seq RESTART WITH 4;
+
+INSERT INTO categoria (id, nome)
+VALUES (1, 'LANCHE'),
+       (2, 'ACOMPANHAMENTO'),
+       (3, 'BEBIDA'),
+       (4, 'SOBREMESA'),
+       (5, 'COMBO'),
+       (6, 'ESPECIAL');
+
+ALTER SEQUENCE categoria_seq RESTART WITH 7;
+
+INSERT INTO produto (id, preco_venda, categoria_id, descricao, nome)
+VALUES (1, 28.90, 1, 'Pão brioche, hambúrguer artesanal 180g, queijo, alface, tomate e maionese da casa.',
         'Clássico da Casa'),
-       (31.90, 1, 'Hambúrguer 180g, cheddar cremoso, bacon crocante e pão australiano.', 'Cheddar Bacon'),
-       (27.50, 1, 'Hambúrguer vegetal, queijo prato, alface, tomate e maionese verde.', 'Veggie Burger'),
-       (12.00, 2, 'Porção de batatas fritas crocantes com sal e toque da casa.', 'Batata Tradicional'),
-       (15.00, 2, 'Anéis de cebola empanados e crocantes, acompanhados de molho barbecue.', 'Onion Rings'),
-       (6.00, 3, 'Coca-Cola, Guaraná ou Sprite 350ml.', 'Refrigerante Lata'),
-       (8.00, 3, 'Suco natural de laranja, limão ou maracujá.', 'Suco Natural'),
-       (16.90, 4, 'Brownie de chocolate artesanal servido com bola de sorvete.', 'Brownie com Sorvete'),
-       (14.00, 4, 'Churros recheado com doce de leite e açúcar com canela.', 'Churros Gourmet'),
-       (42.00, 5, 'Hambúrguer Clássico + Batata + Refrigerante.', 'Combo Clássico');
-
-INSERT INTO pagamento (valor_pago, forma_pagamento, status_pagamento)
-VALUES (76.80, 'CARTAO_CREDITO', 'PAGO'),
-       (70.00, 'PIX', 'PAGO'),
-       (39.50, 'DINHEIRO', 'PAGO');
+       (2, 31.90, 1, 'Hambúrguer 180g, cheddar cremoso, bacon crocante e pão australiano.', 'Cheddar Bacon'),
+       (3, 27.50, 1, 'Hambúrguer vegetal, queijo prato, alface, tomate e maionese verde.', 'Veggie Burger'),
+       (4, 12.00, 2, 'Porção de batatas fritas crocantes com sal e toque da casa.', 'Batata Tradicional'),
+       (5, 15.00, 2, 'Anéis de cebola empanados e crocantes, acompanhados de molho barbecue.', 'Onion Rings'),
+       (6, 6.00, 3, 'Coca-Cola, Guaraná ou Sprite 350ml.', 'Refrigerante Lata'),
+       (7, 8.00, 3, 'Suco natural de laranja, limão ou maracujá.', 'Suco Natural'),
+       (8, 16.90, 4, 'Brownie de chocolate artesanal servido com bola de sorvete.', 'Brownie com Sorvete'),
+       (9, 14.00, 4, 'Churros recheado com doce de leite e açúcar com canela.', 'Churros Gourmet'),
+       (10, 42.00, 5, 'Hambúrguer Clássico + Batata + Refrigerante.', 'Combo Clássico');
+
+ALTER SEQUENCE produto_seq RESTART WITH 11;
+
+INSERT INTO pagamento (id, valor_pago, forma_pagamento, status_pagamento)
+VALUES (1, 76.80, 'CARTAO_CREDITO', 'PAGO'),
+       (2, 70.00, 'PIX', 'PAGO'),
+       (3, 39.50, 'DINHEIRO', 'PAGO');
+
+ALTER SEQUENCE pagamento_seq RESTART WITH 4;
 
 -- Essa informação de valor precisa ser calculada no backend antes de ser salva
 -- Ele será a soma de dos ItemPedidos associados ao ID do pedido
 -- PEDIDOS (valor = soma dos item_pedido correspondentes)
-INSERT INTO pedido (valor, cliente_id, pagamento_id, data_criacao, status)
-VALUES (76.80, 1, 1, NOW(), 'FINALIZADO'),   -- pedido 1 - 28.90 + 31.90 + (6*2) = 76.80
-       (70.00, 1, 2, NOW(), 'EM_ANDAMENTO'), -- pedido 2 - 42.00 + (14*2) = 70.00
-       (39.50, 2, 3, NOW(), 'FINALIZADO');
+INSERT INTO pedido (id, loja_id, versao, valor, cliente_id, pagamento_id, data_criacao, status)
+VALUES (1, 1, 0, 76.80, 1, 1, NOW(), 'FINALIZADO'),   -- pedido 1 - 28.90 + 31.90 + (6*2) = 76.80
+       (2, 1, 0, 70.00, 1, 2, NOW(), 'EM_ANDAMENTO'), -- pedido 2 - 42.00 + (14*2) = 70.00
+       (3, 1, 0, 39.50, 2, 3, NOW(), 'FINALIZADO');
 -- pedido 3 - 27.50 + 12.00 = 39.50
 
+ALTER SEQUENCE pedido_seq RESTART WITH 4;
+
+-- Resumo dos pedidos de cada cliente, mantido pela aplicação a cada pedido gravado ou excluído
+UPDATE cliente
+SET total_pedidos = (SELECT COUNT(*) FROM pedido p WHERE p.cliente_id = cliente.id),
+    total_gasto   = (SELECT COALESCE(SUM(p.valor), 0) FROM pedido p WHERE p.cliente_id = cliente.id),
+    ultimo_pedido = (SELECT MAX(p.data_criacao) FROM pedido p WHERE p.cliente_id = cliente.id);
+
 -- A ideia é que preço unitário seja fornecido no momento da compra
 -- Esse valor pode ser diferente do preço da tabela Produto, pois podem ocorrer descontos
-INSERT INTO item_pedido (preco_unitario, quantidade, pedido_id, produto_id)
-VALUES (28.90, 1, 1, 1),  -- 1x Clássico da Casa no pedido 1
-       (31.90, 1, 1, 2),  -- 1x Cheddar Bacon no pedido 1
-       (6.00, 2, 1, 6),   -- 2x Refrigerante Lata no pedido 1
+INSERT INTO item_pedido (id, loja_id, preco_unitario, quantidade, pedido_id, produto_id)
+VALUES (1, 1, 28.90, 1, 1, 1),  -- 1x Clássico da Casa no pedido 1
+       (2, 1, 31.90, 1, 1, 2),  -- 1x Cheddar Bacon no pedido 1
+       (3, 1, 6.00, 2, 1, 6),   -- 2x Refrigerante Lata no pedido 1
+
+       (4, 1, 42.00, 1, 2, 10), -- 1x Combo Clássico no pedido 2
+       (5, 1, 14.00, 2, 2, 9),  -- 2x Churros Gourmet no pedido 2
 
-       (42.00, 1, 2, 10), -- 1x Combo Clássico no pedido 2
-       (14.00, 2, 2, 9),  -- 2x Churros Gourmet no pedido 2
+       (6, 1, 27.50, 1, 3, 3),  -- 1x Veggie Burger no pedido 3
+       (7, 1, 12.00, 1, 3, 4); -- 1x Batata Tradicional no pedido 3
 
-       (27.50, 1, 3, 3),  -- 1x Veggie Burger no pedido 3
-       (12.00, 1, 3, 4); -- 1x Batata Tradicional no pedido 3
+ALTER SEQUENCE item_pedido_seq RESTART WITH 8;
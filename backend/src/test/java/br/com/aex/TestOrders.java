@@ -0,0 +1,36 @@
+package br.com.aex;
+
+import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Pedidos pagos com PIX para os testes e benchmarks que chamam o createOrder.
+ */
+public final class TestOrders {
+
+	private TestOrders() {
+	}
+
+	public static CompleteOrderDtoV1 order(final Long clienteId, final Long produtoId, final int quantidade, final String total) {
+		return order(clienteId, List.of(item(produtoId, quantidade)), new BigDecimal(total));
+	}
+
+	public static CompleteOrderDtoV1 order(final Long clienteId, final List<CompleteOrderDtoV1.OrderItemDto> itens,
+										   final BigDecimal total) {
+		final CompleteOrderDtoV1 order = new CompleteOrderDtoV1();
+		order.setClienteId(clienteId);
+		order.setTotal(total);
+		order.setFormaPagamento("PIX");
+		order.setItens(itens);
+		return order;
+	}
+
+	public static CompleteOrderDtoV1.OrderItemDto item(final Long produtoId, final int quantidade) {
+		final CompleteOrderDtoV1.OrderItemDto item = new CompleteOrderDtoV1.OrderItemDto();
+		item.setProdutoId(produtoId);
+		item.setQuantidade(quantidade);
+		return item;
+	}
+}
@@ -0,0 +1,97 @@
+package br.com.aex.api;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BoundedBufferResponseWrapperTests {
+
+	@Test
+	void smallBodyIsSentWithContentLength() throws Exception {
+		final AsyncResponse response = new AsyncResponse();
+		final BoundedBufferResponseWrapper wrapper = new BoundedBufferResponseWrapper(response, 16);
+		wrapper.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+		assertEquals("", response.body());
+
+		wrapper.finish();
+		assertEquals("{\"id\":1}", response.body());
+		assertEquals(8, response.getContentLength());
+	}
+
+	@Test
+	void nonBlockingWritesReachTheResponseAfterTheBufferedBytes() throws Exception {
+		final AsyncResponse response = new AsyncResponse();
+		final BoundedBufferResponseWrapper wrapper = new BoundedBufferResponseWrapper(response, 16);
+		final ServletOutputStream out = wrapper.getOutputStream();
+		out.write("[1,".getBytes(StandardCharsets.UTF_8));
+
+		final WriteListener listener = new WriteListener() {
+			@Override
+			public void onWritePossible() {
+			}
+
+			@Override
+			public void onError(final Throwable throwable) {
+			}
+		};
+		out.setWriteListener(listener);
+		assertSame(listener, response.stream.listener);
+		assertEquals("[1,", response.body());
+
+		response.stream.ready = false;
+		assertFalse(out.isReady());
+
+		out.write("2]".getBytes(StandardCharsets.UTF_8));
+		wrapper.finish();
+		assertEquals("[1,2]", response.body());
+		// em streaming o tamanho não é conhecido
+		assertEquals(0, response.getContentLength());
+	}
+
+	/**
+	 * Resposta cujo stream aceita IO não bloqueante e informa se está pronto.
+	 */
+	private static final class AsyncResponse extends MockHttpServletResponse {
+
+		private final AsyncStream stream = new AsyncStream();
+
+		@Override
+		public ServletOutputStream getOutputStream() {
+			return stream;
+		}
+
+		String body() {
+			return stream.bytes.toString(StandardCharsets.UTF_8);
+		}
+	}
+
+	private static final class AsyncStream extends ServletOutputStream {
+
+		private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		private WriteListener listener;
+		private boolean ready = true;
+
+		@Override
+		public void write(final int b) {
+			bytes.write(b);
+		}
+
+		@Override
+		public boolean isReady() {
+			return ready;
+		}
+
+		@Override
+		public void setWriteListener(final WriteListener writeListener) {
+			listener = writeListener;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package br.com.aex.api;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Carga de leitura (cardápio, acompanhamento de pedido e busca de cliente por telefone) com N conexões
+ * simultâneas, medindo vazão, p99 e o custo de memória e threads do servidor por conexão em andamento.
+ * <p>
+ * Cada cliente virtual mantém uma conexão HTTP/1.1 aberta e repete as três rotas em sequência. A memória por
+ * conexão é o aumento do RSS do processo do servidor sob carga, sobre o RSS ocioso, dividido por N.
+ * <p>
+ * Uso: ./infra/benchmark/read_stack_benchmark.sh [jar] [segundos] [conexões...]
+ */
+public final class ReadStackBenchmark {
+
+    public static void main(final String[] args) throws Exception {
+        final String base = args[0];
+        final long pid = Long.parseLong(args[1]);
+        final double seconds = Double.parseDouble(args[2]);
+        final long orderId = Long.parseLong(args[3]);
+        final String telephone = args[4];
+        final int[] levels = Arrays.stream(args, 5, args.length).mapToInt(Integer::parseInt).toArray();
+
+        final List<URI> routes = List.of(
+                URI.create(base + Endpoints.V1_PRODUCT),
+                URI.create(base + Endpoints.V1_ORDER + "/" + orderId),
+                URI.create(base + Endpoints.V1_CLIENT + "/telephone?telephone=" + telephone));
+
+        final Sample idle = Sample.of(pid);
+        System.out.printf("%-10s %12s %10s %10s %12s %14s %10s%n",
+                "conexões", "req/s", "p99 ms", "erros", "threads", "RSS MB", "KB/conexão");
+        for (int connections : levels) {
+            // rodada curta para abrir as conexões e aquecer o caminho com essa concorrência
+            run(routes, connections, Math.min(2, seconds / 3), pid);
+            final Result result = run(routes, connections, seconds, pid);
+            System.out.printf("%-10d %12.1f %10.1f %10d %12d %14.1f %10.1f%n", connections,
+                    result.requests / seconds, result.p99Millis, result.errors, result.peak.threads,
+                    result.peak.rssKb / 1024.0, Math.max(0, result.peak.rssKb - idle.rssKb) / (double) connections);
+        }
+    }
+
+    private record Result(long requests, long errors, double p99Millis, Sample peak) {
+    }
+
+    private static Result run(final List<URI> routes, final int connections, final double seconds, final long pid) throws Exception {
+        final long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        final LongAdder errors = new LongAdder();
+        final List<long[]> latencies = new ArrayList<>();
+        final List<Future<Integer>> counts = new ArrayList<>();
+        // o pool de conexões do HttpClient abre uma conexão nova sempre que não há uma livre: N clientes
+        // simultâneos mantêm N conexões abertas
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            for (int c = 0; c < connections; c++) {
+                final long[] samples = new long[1 << 12];
+                latencies.add(samples);
+                final int offset = c;
+                counts.add(clients.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        final HttpRequest request = HttpRequest.newBuilder(routes.get((offset + n) % routes.size()))
+                                .timeout(Duration.ofSeconds(30)).GET().build();
+                        final long start = System.nanoTime();
+                        try {
+                            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        samples[n++ & (samples.length - 1)] = System.nanoTime() - start;
+                    }
+                    return n;
+                }));
+            }
+
+            Sample peak = Sample.of(pid);
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(200);
+                final Sample sample = Sample.of(pid);
+                peak = new Sample(Math.max(peak.rssKb, sample.rssKb), Math.max(peak.threads, sample.threads));
+            }
+
+            long requests = 0;
+            final List<Long> all = new ArrayList<>();
+            for (int c = 0; c < connections; c++) {
+                final int n = counts.get(c).get();
+                requests += n;
+                final long[] samples = latencies.get(c);
+                for (int i = 0; i < Math.min(n, samples.length); i++) {
+                    all.add(samples[i]);
+                }
+            }
+            all.sort(null);
+            final double p99 = all.isEmpty() ? 0 : all.get((int) (all.size() * 0.99)) / 1e6;
+            return new Result(requests, errors.sum(), p99, peak);
+        }
+    }
+
+    /**
+     * RSS e número de threads do processo do servidor, de /proc (Linux).
+     */
+    private record Sample(long rssKb, long threads) {
+
+        static Sample of(final long pid) throws Exception {
+            long rss = 0;
+            long threads = 0;
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    rss = Long.parseLong(line.replaceAll("\\D", ""));
+                } else if (line.startsWith("Threads:")) {
+                    threads = Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+            return new Sample(rss, threads);
+        }
+    }
+}
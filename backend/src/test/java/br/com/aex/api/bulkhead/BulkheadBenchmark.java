@@ -0,0 +1,124 @@
+package br.com.aex.api.bulkhead;
+
+import br.com.aex.api.Endpoints;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * p99 de create_order sozinho e com o painel administrativo disparando listagens pesadas sem parar
+ * ({@code /v1/order?limit=500} e {@code /v1/client}). O painel respeita o Retry-After das recusas.
+ * <p>
+ * Uso: ./infra/benchmark/bulkhead_benchmark.sh [jar] [pedidos por thread] [threads de atendimento] [threads admin]
+ */
+public final class BulkheadBenchmark {
+
+    private static final String ORDER = "{\"cliente_id\":1,\"itens\":[{\"produto_id\":1,\"quantidade\":1}],\"total\":10.00}";
+    private static final long ADMIN_BACKOFF_MS = 100;
+
+    private final String base;
+    private final int ordersPerThread;
+    private final int customerThreads;
+    private final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private BulkheadBenchmark(final String base, final int ordersPerThread, final int customerThreads) {
+        this.base = base;
+        this.ordersPerThread = ordersPerThread;
+        this.customerThreads = customerThreads;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final BulkheadBenchmark benchmark = new BulkheadBenchmark(args[0], Integer.parseInt(args[1]), Integer.parseInt(args[2]));
+        final int adminThreads = Integer.parseInt(args[3]);
+
+        // a primeira rodada só aquece
+        benchmark.measureOrders();
+        final Result alone = benchmark.measureOrders();
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicInteger adminOk = new AtomicInteger();
+        final AtomicInteger adminRejected = new AtomicInteger();
+        final ExecutorService admin = Executors.newFixedThreadPool(adminThreads);
+        for (int i = 0; i < adminThreads; i++) {
+            final URI uri = URI.create(args[0] + (i % 2 == 0 ? Endpoints.V1_ORDER + "?limit=500" : Endpoints.V1_CLIENT));
+            admin.submit(() -> {
+                while (running.get()) {
+                    final int status = benchmark.http.send(HttpRequest.newBuilder(uri).GET().build(),
+                            HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 200) {
+                        adminOk.incrementAndGet();
+                    } else {
+                        adminRejected.incrementAndGet();
+                        Thread.sleep(ADMIN_BACKOFF_MS);
+                    }
+                }
+                return null;
+            });
+        }
+
+        final Result underLoad;
+        try {
+            Thread.sleep(500);
+            underLoad = benchmark.measureOrders();
+        } finally {
+            running.set(false);
+            admin.shutdown();
+        }
+
+        System.out.printf("%-22s %10s %16s %12s %16s%n", "cenário", "p99 ms", "pedidos 503", "admin ok", "admin 503");
+        System.out.printf("%-22s %10.1f %16d %12s %16s%n", "sozinho", alone.p99Millis(), alone.rejected(), "-", "-");
+        System.out.printf("%-22s %10.1f %16d %12d %16d%n", "com carga admin", underLoad.p99Millis(), underLoad.rejected(),
+                adminOk.get(), adminRejected.get());
+    }
+
+    private record Result(double p99Millis, int rejected) {
+    }
+
+    private Result measureOrders() throws Exception {
+        final List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        final AtomicInteger rejected = new AtomicInteger();
+        final HttpRequest request = HttpRequest.newBuilder(URI.create(base + Endpoints.V1_ORDER + "/create_order"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(ORDER))
+                .build();
+        final ExecutorService customers = Executors.newFixedThreadPool(customerThreads);
+        try {
+            final List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < customerThreads; i++) {
+                tasks.add(customers.submit(() -> {
+                    for (int n = 0; n < ordersPerThread; n++) {
+                        final long start = System.nanoTime();
+                        final int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        latencies.add(System.nanoTime() - start);
+                        if (status != 200) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            customers.shutdown();
+        }
+
+        final List<Long> sorted = latencies.stream().sorted().toList();
+        return new Result(sorted.get((int) Math.ceil(sorted.size() * 0.99) - 1) / 1e6, rejected.get());
+    }
+}
@@ -0,0 +1,128 @@
+package br.com.aex.api.bulkhead;
+
+import br.com.aex.api.Endpoints;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.Workload;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Isolamento entre os compartimentos sem depender de tempo: as vagas e as conexões de um compartimento são
+ * ocupadas pelo próprio teste enquanto o outro é exercitado. A latência de create_order sob carga administrativa
+ * é medida por ./infra/benchmark/bulkhead_benchmark.sh.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulkhead",
+		"spring.datasource.hikari.connection-timeout=250",
+		"aex.bulkhead.admin.max-concurrent=2",
+		"aex.bulkhead.admin.queue-size=0",
+		"aex.bulkhead.admin.max-wait=100ms",
+		"aex.sharding.pool-size.customer=2",
+		"aex.sharding.pool-size.admin=2"
+})
+@AutoConfigureMockMvc
+class BulkheadIsolationTests {
+
+	private static final String ORDER = "{\"cliente_id\":1,\"itens\":[{\"produto_id\":1,\"quantidade\":1}],\"total\":28.90}";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private BulkheadFilter bulkheadFilter;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void saturatedAdminCompartmentRejectsOnlyAdminRequests() throws Exception {
+		final Bulkhead admin = bulkheadFilter.bulkhead(Workload.ADMIN);
+		final Bulkhead customer = bulkheadFilter.bulkhead(Workload.CUSTOMER);
+		final double adminRejected = admin.rejectedCount();
+		final double customerRejected = customer.rejectedCount();
+
+		// Ocupa todas as vagas administrativas, como um painel disparando listagens pesadas
+		assertTrue(admin.tryEnter());
+		assertTrue(admin.tryEnter());
+		try {
+			mockMvc.perform(get(Endpoints.V1_CLIENT))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+			mockMvc.perform(get(Endpoints.V1_ORDER))
+					.andExpect(status().isServiceUnavailable());
+
+			createOrder();
+			mockMvc.perform(get(Endpoints.V1_PRODUCT)).andExpect(status().isOk());
+		} finally {
+			admin.exit();
+			admin.exit();
+		}
+
+		assertEquals(adminRejected + 2, admin.rejectedCount());
+		assertEquals(customerRejected, customer.rejectedCount());
+		mockMvc.perform(get(Endpoints.V1_CLIENT)).andExpect(status().isOk());
+	}
+
+	@Test
+	void adminRequestsDoNotBorrowCustomerConnections() throws Exception {
+		// Com o pool de atendimento esgotado, uma requisição administrativa que pegasse conexão dele falharia
+		try (Held ignored = hold(Workload.CUSTOMER)) {
+			mockMvc.perform(get(Endpoints.V1_ORDER)).andExpect(status().isOk());
+			mockMvc.perform(get(Endpoints.V1_CLIENT)).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void customerRequestsDoNotBorrowAdminConnections() throws Exception {
+		try (Held ignored = hold(Workload.ADMIN)) {
+			createOrder();
+			mockMvc.perform(get(Endpoints.V1_PRODUCT)).andExpect(status().isOk());
+		}
+	}
+
+	private void createOrder() throws Exception {
+		mockMvc.perform(post(Endpoints.V1_ORDER + "/create_order").contentType(MediaType.APPLICATION_JSON).content(ORDER))
+				.andExpect(status().isOk());
+	}
+
+	/**
+	 * Pega todas as conexões do pool do compartimento no shard principal.
+	 */
+	private Held hold(final Workload workload) throws SQLException {
+		final DataSource pool = shardRouter.dataSource(ShardRouter.PRIMARY, workload);
+		final Held held = new Held(new ArrayList<>());
+		for (int i = 0; i < 2; i++) {
+			held.connections().add(pool.getConnection());
+		}
+		return held;
+	}
+
+	private record Held(List<Connection> connections) implements AutoCloseable {
+
+		@Override
+		public void close() throws SQLException {
+			for (Connection connection : connections) {
+				connection.close();
+			}
+		}
+	}
+}
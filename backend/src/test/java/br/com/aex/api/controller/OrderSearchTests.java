@@ -0,0 +1,141 @@
+package br.com.aex.api.controller;
+
+import br.com.aex.api.Endpoints;
+import br.com.aex.api.OrderCursor;
+import br.com.aex.repository.shard.ShardRouter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Busca de pedidos sobre pedidos gravados direto no banco (loja 1), cada teste com seu próprio cliente.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:search"
+})
+@AutoConfigureMockMvc
+class OrderSearchTests {
+
+	private static final LocalDateTime NOON = LocalDateTime.of(2025, 10, 18, 12, 0);
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void ordersCreatedAtTheSameInstantArePagedById() throws Exception {
+		client(10L);
+		for (long id = 1001; id <= 1005; id++) {
+			order(id, 10L, NOON, "FINALIZADO", "20.00");
+		}
+
+		final List<Long> ids = new ArrayList<>();
+		final List<Integer> pageSizes = new ArrayList<>();
+		String cursor = null;
+		do {
+			final JsonNode page = search("client_id=10&limit=2" + (cursor != null ? "&cursor=" + cursor : ""));
+			page.get("orders").forEach(order -> ids.add(order.get("id").asLong()));
+			pageSizes.add(page.get("orders").size());
+			cursor = page.get("next_cursor").isNull() ? null : page.get("next_cursor").asText();
+		} while (cursor != null);
+
+		assertEquals(List.of(1005L, 1004L, 1003L, 1002L, 1001L), ids);
+		assertEquals(List.of(2, 2, 1), pageSizes);
+	}
+
+	@Test
+	void newestFirstAcrossPages() throws Exception {
+		client(11L);
+		order(1101, 11L, NOON.minusHours(2), "FINALIZADO", "20.00");
+		order(1102, 11L, NOON, "FINALIZADO", "20.00");
+		order(1103, 11L, NOON.minusHours(1), "FINALIZADO", "20.00");
+
+		final JsonNode first = search("client_id=11&limit=2");
+		assertEquals(1102, first.get("orders").get(0).get("id").asLong());
+		assertEquals(1103, first.get("orders").get(1).get("id").asLong());
+
+		final JsonNode second = search("client_id=11&limit=2&cursor=" + first.get("next_cursor").asText());
+		assertEquals(1, second.get("orders").size());
+		assertEquals(1101, second.get("orders").get(0).get("id").asLong());
+		assertTrue(second.get("next_cursor").isNull());
+	}
+
+	@Test
+	void filtersCombine() throws Exception {
+		client(12L);
+		order(1201, 12L, NOON.minusDays(1), "FINALIZADO", "50.00");
+		order(1202, 12L, NOON, "FINALIZADO", "50.00");
+		order(1203, 12L, NOON, "CANCELADO", "50.00");
+		order(1204, 12L, NOON, "FINALIZADO", "10.00");
+		order(1205, 12L, NOON.plusDays(1), "FINALIZADO", "50.00");
+
+		// from inclusivo, to exclusivo
+		final JsonNode page = search("client_id=12&status=FINALIZADO&min_value=20&from=2025-10-18T12:00:00&to=2025-10-19T12:00:00");
+		assertEquals(1, page.get("orders").size());
+		assertEquals(1202, page.get("orders").get(0).get("id").asLong());
+		assertEquals(0, page.get("orders").get(0).get("item_count").asLong());
+	}
+
+	@Test
+	void cursorRoundTrips() {
+		final OrderCursor cursor = new OrderCursor(LocalDateTime.of(2025, 10, 18, 12, 30, 15, 123_456_000), 42L);
+		assertEquals(cursor, OrderCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void invalidParametersReturnErrorResponse() throws Exception {
+		mockMvc.perform(get(Endpoints.V1_ORDER + "?from=ontem"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.status").value(400))
+				.andExpect(jsonPath("$.thrown_by_class").value("MethodArgumentTypeMismatchException"))
+				.andExpect(jsonPath("$.path").value(Endpoints.V1_ORDER));
+		mockMvc.perform(get(Endpoints.V1_ORDER + "?to=2025-13-01"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.thrown_by_class").value("MethodArgumentTypeMismatchException"));
+		mockMvc.perform(get(Endpoints.V1_ORDER + "?cursor=invalido"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.thrown_by_class").value("BadRequestException"));
+	}
+
+	private JsonNode search(final String query) throws Exception {
+		final String body = mockMvc.perform(get(Endpoints.V1_ORDER + "?" + query))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(body);
+	}
+
+	private void client(final Long id) {
+		jdbc().update("insert into cliente (id, loja_id, nome, telefone) values (?, 1, ?, ?)", id, "Cliente " + id, "4891000" + id);
+	}
+
+	private void order(final long id, final Long clientId, final LocalDateTime createdAt, final String status, final String valor) {
+		jdbc().update("insert into pedido (id, loja_id, versao, data_criacao, valor, status, cliente_id) values (?, 1, 0, ?, ?, ?, ?)",
+				id, Timestamp.valueOf(createdAt), new BigDecimal(valor), status, clientId);
+	}
+
+	private JdbcTemplate jdbc() {
+		return new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY));
+	}
+}
@@ -0,0 +1,67 @@
+package br.com.aex.api.controller;
+
+import br.com.aex.api.Endpoints;
+import br.com.aex.repository.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH de status sobre o pedido 2 do data.sql (loja 1, EM_ANDAMENTO).
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:status")
+@AutoConfigureMockMvc
+class OrderStatusTests {
+
+	private static final long ORDER = 2L;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void knownStatusIsSaved() throws Exception {
+		patchStatus("FINALIZADO")
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("FINALIZADO"));
+		assertEquals("FINALIZADO", column("status"));
+	}
+
+	@Test
+	void unknownStatusIsRejectedWithoutTouchingTheOrder() throws Exception {
+		final String versao = column("versao");
+		final String current = column("status");
+
+		patchStatus("QUALQUER_COISA")
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.status").value("Status inválido; use um de: PENDENTE|EM_ANDAMENTO|FINALIZADO|CANCELADO"));
+		patchStatus("finalizado").andExpect(status().isBadRequest());
+		patchStatus("REJEITADO").andExpect(status().isBadRequest());
+
+		assertEquals(versao, column("versao"));
+		assertEquals(current, column("status"));
+	}
+
+	private ResultActions patchStatus(final String value) throws Exception {
+		return mockMvc.perform(patch(Endpoints.V1_ORDER + "/" + ORDER + "/status")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"" + value + "\"}"));
+	}
+
+	private String column(final String name) {
+		return new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY))
+				.queryForObject("select " + name + " from pedido where id = ?", String.class, ORDER);
+	}
+}
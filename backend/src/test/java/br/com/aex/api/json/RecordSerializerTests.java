@@ -0,0 +1,91 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.SparseFieldset;
+import br.com.aex.api.dto.client.ClientResponseDtoV1;
+import br.com.aex.api.dto.order.OrderDtoV1;
+import br.com.aex.api.dto.order.OrderIntakeResponseDtoV1;
+import br.com.aex.api.dto.product.ProductResponseDtoV1;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cada {@link RecordSerializer} deve produzir exatamente os bytes do serializador por reflexão do Jackson, em
+ * JSON e CBOR, com todos os campos e com {@code ?fields=}, inclusive com campos nulos.
+ */
+class RecordSerializerTests {
+
+	static Stream<Arguments> values() {
+		return Stream.of(
+				Arguments.of(new ProductResponseDtoV1(1L, "Clássico da Casa", "Pão brioche e \"maionese\" da casa", new BigDecimal("28.90"), "LANCHE"), "id,preco_venda"),
+				Arguments.of(new ProductResponseDtoV1(2L, "Sem categoria", null, null, null), "id,descricao,nome_categoria"),
+				Arguments.of(new ClientResponseDtoV1(42L, "Cliente 42", "48900000042", 12L, new BigDecimal("431.60"),
+						LocalDateTime.of(2025, 3, 14, 20, 5, 0, 123_000_000)), "id,ultimo_pedido"),
+				Arguments.of(new ClientResponseDtoV1(43L, "Cliente novo", "48900000043", 0L, BigDecimal.ZERO, null), "nome,ultimo_pedido"),
+				Arguments.of(new OrderDtoV1(17, 42L, "PENDENTE", new BigDecimal("76.80")), "status,valor"),
+				Arguments.of(new OrderDtoV1(null, 42L, "RECEBIDO", null), "numero,valor"),
+				Arguments.of(List.of(new OrderDtoV1(1, 1L, "PAGO", BigDecimal.ONE), new OrderDtoV1(null, 2L, "PENDENTE", null)), "numero"),
+				Arguments.of(OrderIntakeResponseDtoV1.accepted(7L, 3), "id"),
+				Arguments.of(OrderIntakeResponseDtoV1.accepted(8L, null), "id")
+		);
+	}
+
+	@ParameterizedTest
+	@MethodSource("values")
+	void jsonMatchesReflection(final Object value, final String fields) throws Exception {
+		assertSameOutput(mapper(false, false), mapper(true, false), value, fields);
+	}
+
+	@ParameterizedTest
+	@MethodSource("values")
+	void cborMatchesReflection(final Object value, final String fields) throws Exception {
+		assertSameOutput(mapper(false, true), mapper(true, true), value, fields);
+	}
+
+	@Test
+	void fieldsKeepNullValues() throws Exception {
+		final ClientResponseDtoV1 client = new ClientResponseDtoV1(43L, "Cliente novo", "48900000043", 0L, BigDecimal.ZERO, null);
+		assertEquals("{\"id\":43,\"ultimo_pedido\":null}", filtered(mapper(true, false), "id,ultimo_pedido").writeValueAsString(client));
+	}
+
+	private static void assertSameOutput(final ObjectMapper reflection, final ObjectMapper records, final Object value,
+										 final String fields) throws Exception {
+		assertArrayEquals(reflection.writeValueAsBytes(value), records.writeValueAsBytes(value));
+
+		final byte[] expected = filtered(reflection, fields).writeValueAsBytes(value);
+		assertArrayEquals(expected, filtered(records, fields).writeValueAsBytes(value));
+	}
+
+	private static ObjectWriter filtered(final ObjectMapper mapper, final String fields) {
+		return mapper.writer(SparseFieldset.filters(fields));
+	}
+
+	private static ObjectMapper mapper(final boolean recordSerializers, final boolean cbor) {
+		final Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+				.propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+				.featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+				.filters(SparseFieldset.defaultFilters());
+		if (recordSerializers) {
+			builder.modulesToInstall(new RecordSerializerModule());
+		}
+		if (cbor) {
+			builder.factory(new CBORFactory());
+		}
+		return builder.build();
+	}
+}
@@ -0,0 +1,106 @@
+package br.com.aex.api.json;
+
+import br.com.aex.api.SparseFieldset;
+import br.com.aex.api.dto.client.ClientResponseDtoV1;
+import br.com.aex.api.dto.order.OrderDtoV1;
+import br.com.aex.api.dto.product.ProductResponseDtoV1;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Vazão e bytes alocados por resposta na serialização dos DTOs mais servidos, com o serializador padrão do
+ * Jackson (reflexão) e com os {@link RecordSerializer}. A saída vai direto para um stream, como na resposta HTTP.
+ * <p>
+ * Uso: ./infra/benchmark/serializer_benchmark.sh [segundos-por-medição]
+ */
+public final class SerializerBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(final String[] args) throws Exception {
+        final double seconds = args.length > 0 ? Double.parseDouble(args[0]) : 3;
+        final ObjectMapper reflection = mapper(false);
+        final ObjectMapper recordSerializers = mapper(true);
+
+        final List<ProductResponseDtoV1> menu = new ArrayList<>();
+        for (long id = 1; id <= 40; id++) {
+            menu.add(new ProductResponseDtoV1(id, "Produto " + id, "Pão brioche, hambúrguer artesanal 180g, queijo e maionese da casa.",
+                    BigDecimal.valueOf(2890 + id, 2), "LANCHE"));
+        }
+        final Object[][] cases = {
+                {"cardápio (40 produtos)", menu},
+                {"cliente", new ClientResponseDtoV1(42L, "Cliente 42", "48900000042", 12L, new BigDecimal("431.60"),
+                        LocalDateTime.of(2025, 3, 14, 20, 5, 0))},
+                {"pedido", new OrderDtoV1(17, 42L, "PENDENTE", new BigDecimal("76.80"))},
+        };
+
+        System.out.printf("%-24s %-12s %14s %16s%n", "resposta", "serializador", "respostas/s", "bytes alocados");
+        for (Object[] c : cases) {
+            final byte[] expected = reflection.writeValueAsBytes(c[1]);
+            if (!Arrays.equals(expected, recordSerializers.writeValueAsBytes(c[1]))) {
+                throw new IllegalStateException("Saída diferente para " + c[0]);
+            }
+            for (int round = 0; round < 2; round++) {
+                // primeira rodada aquece o JIT
+                final boolean print = round == 1;
+                run((String) c[0], "reflexão", reflection.writer(), c[1], seconds, print);
+                run((String) c[0], "record", recordSerializers.writer(), c[1], seconds, print);
+            }
+        }
+    }
+
+    private static ObjectMapper mapper(final boolean recordSerializers) {
+        final Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                // Padrão do Spring Boot: datas como texto ISO
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .filters(SparseFieldset.defaultFilters());
+        if (recordSerializers) {
+            builder.modulesToInstall(new RecordSerializerModule());
+        }
+        return builder.build();
+    }
+
+    private static void run(final String name, final String serializer, final ObjectWriter writer, final Object value,
+                            final double seconds, final boolean print) throws Exception {
+        // Descarta os bytes; o writer fecha o stream ao fim de cada valor, então não pode ser o nullOutputStream()
+        final OutputStream out = new OutputStream() {
+            @Override
+            public void write(final int b) {
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+            }
+        };
+        final long threadId = Thread.currentThread().threadId();
+        final long deadline = System.nanoTime() + (long) (seconds * 1e9);
+
+        long count = 0;
+        final long allocatedBefore = THREADS.getThreadAllocatedBytes(threadId);
+        final long begin = System.nanoTime();
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 1000; i++) {
+                writer.writeValue(out, value);
+            }
+            count += 1000;
+        }
+        final double elapsed = (System.nanoTime() - begin) / 1e9;
+        final long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        if (print) {
+            System.out.printf("%-24s %-12s %14.0f %16d%n", name, serializer, count / elapsed, allocated / count);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.aex.api.profiling;
+
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Mesmo listado em {@code exposure.include}, o endpoint JFR não existe na porta da API; a gravação continua
+ * rodando e o dump não carrega ambiente nem propriedades de sistema.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:jfr",
+		"aex.jfr.start-on-startup=true",
+		"management.endpoints.web.exposure.include=health,metrics,jfr"
+})
+@AutoConfigureMockMvc
+class FlightRecorderExposureTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Autowired
+	private RollingRecording recording;
+
+	@Test
+	void endpointIsNotServedOnTheApplicationPort() throws Exception {
+		assertTrue(context.getBeansOfType(FlightRecorderEndpoint.class).isEmpty());
+		mockMvc.perform(get("/actuator/jfr")).andExpect(status().isNotFound());
+		mockMvc.perform(get("/actuator/jfr/dump")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void dumpLeavesOutEnvironmentAndSystemProperties() throws Exception {
+		assertTrue(recording.status().recording());
+		final Path file = Files.createTempFile("jfr-exposure-", ".jfr");
+		try {
+			assertTrue(recording.dump(file));
+			final Set<String> leaking = Set.of("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation");
+			assertFalse(RecordingFile.readAllEvents(file).stream()
+					.anyMatch(event -> leaking.contains(event.getEventType().getName())));
+		} finally {
+			Files.deleteIfExists(file);
+		}
+	}
+}
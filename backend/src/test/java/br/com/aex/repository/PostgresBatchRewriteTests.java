@@ -0,0 +1,66 @@
+package br.com.aex.repository;
+
+import br.com.aex.entity.Estoque;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.sql.model.MutationOperationGroup;
+import org.hibernate.sql.model.jdbc.JdbcMutationOperation;
+import org.junit.jupiter.api.Test;
+import org.postgresql.core.NativeQuery;
+import org.postgresql.core.Parser;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Com {@code reWriteBatchedInserts=true} o driver do Postgres só junta um batch num insert multi-linha se o
+ * comando for um {@code insert ... values (...)} simples, sem {@code returning}. Confere isso nos inserts que o
+ * Hibernate gera com o dialeto do Postgres (sobre H2 em modo PostgreSQL), usando o próprio parser do driver.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:pgrewrite;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE",
+		"spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect"
+})
+class PostgresBatchRewriteTests {
+
+	// Gravado só via JdbcTemplate pelo StockService, com id IDENTITY: nunca passa por batch do Hibernate
+	private static final Set<Class<?>> JDBC_ONLY = Set.of(Estoque.class);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Test
+	void hibernateInsertsAreRewrittenIntoMultiRowInserts() throws Exception {
+		final List<String> checked = new ArrayList<>();
+		for (EntityPersister persister : persisters()) {
+			if (JDBC_ONLY.contains(persister.getMappedClass())) {
+				continue;
+			}
+			final MutationOperationGroup group = persister.getInsertCoordinator().getStaticMutationOperationGroup();
+			for (int i = 0; i < group.getNumberOfOperations(); i++) {
+				final String sql = ((JdbcMutationOperation) group.getOperation(i)).getSqlString();
+				final List<NativeQuery> parsed = Parser.parseJdbcSql(sql, true, true, true, true, false);
+				assertEquals(1, parsed.size(), sql);
+				assertFalse(parsed.get(0).command.isReturningKeywordPresent(), sql);
+				assertTrue(parsed.get(0).command.isBatchedReWriteCompatible(), sql);
+				checked.add(persister.getEntityName());
+			}
+		}
+		assertTrue(checked.containsAll(List.of("br.com.aex.entity.Pedido", "br.com.aex.entity.ItemPedido",
+				"br.com.aex.entity.Pagamento", "br.com.aex.entity.PagamentoOutbox", "br.com.aex.entity.Produto")), checked.toString());
+	}
+
+	private List<EntityPersister> persisters() {
+		final List<EntityPersister> persisters = new ArrayList<>();
+		entityManagerFactory.unwrap(SessionFactoryImplementor.class).getMappingMetamodel().forEachEntityDescriptor(persisters::add);
+		return persisters;
+	}
+}
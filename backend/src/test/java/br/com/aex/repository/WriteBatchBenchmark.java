@@ -0,0 +1,139 @@
+package br.com.aex.repository;
+
+import br.com.aex.ProjetoAplicadoApplication;
+import br.com.aex.TestOrders;
+import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
+import br.com.aex.entity.Pedido;
+import br.com.aex.entity.Produto;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.StoreContext;
+import br.com.aex.service.OrderService;
+import br.com.aex.service.payment.PaymentOutboxService;
+import br.com.aex.service.profiling.StatementCounter;
+import jakarta.persistence.EntityManager;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Linhas gravadas por segundo nos caminhos de escrita do Hibernate: pedidos com vários itens (um por transação,
+ * via createOrder, e em grupos de 64 por transação, como a recepção assíncrona), insert de produtos e update
+ * de preço de todos os produtos numa transação. Também mostra quantos comandos SQL foram preparados: com
+ * batching JDBC, um lote conta como um comando.
+ * <p>
+ * Sobe a aplicação sem servidor web, com os argumentos extras repassados ao Spring (ex.: outro banco, ou
+ * {@code --spring.jpa.properties.hibernate.jdbc.batch_size=1} para comparar sem batching).
+ * <p>
+ * Uso: ./infra/benchmark/write_batch_benchmark.sh [pedidos] [itens-por-pedido] [produtos] [args do Spring...]
+ */
+public final class WriteBatchBenchmark {
+
+    private static final long STORE = 1L;
+    private static final long CLIENT = 1L;
+    private static final int GROUP = 64;
+
+    public static void main(final String[] args) throws Exception {
+        final int orders = Integer.parseInt(args[0]);
+        final int items = Integer.parseInt(args[1]);
+        final int products = Integer.parseInt(args[2]);
+        final String[] springArgs = Arrays.copyOfRange(args, 3, args.length);
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(ProjetoAplicadoApplication.class, springArgs)) {
+            final OrderService orderService = context.getBean(OrderService.class);
+            final PaymentOutboxService paymentOutboxService = context.getBean(PaymentOutboxService.class);
+            final EntityManager entityManager = context.getBean(EntityManager.class);
+            final TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+            final ShardRouter shardRouter = context.getBean(ShardRouter.class);
+            final String batchSize = context.getEnvironment().getProperty("spring.jpa.properties.hibernate.jdbc.batch_size", "0");
+
+            // pedido + pagamento + outbox + itens
+            final int rowsPerOrder = 3 + items;
+            final List<Produto> menu = entityManager.createQuery("from produto", Produto.class).getResultList();
+
+            System.out.printf("%nbatch_size=%s, %d pedidos de %d itens, %d produtos%n", batchSize, orders, items, products);
+            System.out.printf("%-36s %10s %12s %14s%n", "cenário", "linhas", "linhas/s", "comandos SQL");
+            StoreContext.run(STORE, shardRouter.shardFor(STORE), () -> {
+                // primeira rodada aquece o JIT e os pools
+                for (int round = 0; round < 2; round++) {
+                    final boolean print = round == 1;
+                    measure("pedido por transação", orders * rowsPerOrder, print, () -> quietly(() -> {
+                        for (int i = 0; i < orders; i++) {
+                            orderService.createOrder(order(menu, items));
+                        }
+                    }));
+                    measure("pedidos em grupos de " + GROUP, orders * rowsPerOrder, print, () -> {
+                        for (int i = 0; i < orders; i += GROUP) {
+                            final List<Pedido> group = new ArrayList<>();
+                            for (int j = i; j < Math.min(orders, i + GROUP); j++) {
+                                group.add(orderService.buildOrder(order(menu, items), "PENDENTE"));
+                            }
+                            transactionTemplate.executeWithoutResult(status -> group.forEach(pedido -> {
+                                entityManager.persist(pedido);
+                                paymentOutboxService.enqueue(pedido);
+                            }));
+                        }
+                    });
+                }
+            });
+
+            shardRouter.onPrimary(() -> {
+                final List<Long> ids = new ArrayList<>();
+                measure("produtos: insert", products, true, () -> transactionTemplate.executeWithoutResult(status -> {
+                    for (int i = 0; i < products; i++) {
+                        final Produto produto = new Produto();
+                        produto.setNome("Produto " + i);
+                        produto.setDescricao("Produto do benchmark de escrita");
+                        produto.setPrecoVenda(BigDecimal.TEN);
+                        entityManager.persist(produto);
+                        ids.add(produto.getId());
+                    }
+                }));
+                measure("produtos: update de preço", products, true, () -> transactionTemplate.executeWithoutResult(status ->
+                        entityManager.createQuery("from produto where id in :ids", Produto.class)
+                                .setParameter("ids", ids)
+                                .getResultList()
+                                .forEach(produto -> produto.setPrecoVenda(produto.getPrecoVenda().add(BigDecimal.ONE)))));
+                return null;
+            });
+        }
+    }
+
+    private static CompleteOrderDtoV1 order(final List<Produto> menu, final int items) {
+        final List<CompleteOrderDtoV1.OrderItemDto> itens = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            final Produto produto = menu.get(i % menu.size());
+            itens.add(TestOrders.item(produto.getId(), 1));
+            total = total.add(produto.getPrecoVenda());
+        }
+        return TestOrders.order(CLIENT, itens, total);
+    }
+
+    private static void measure(final String name, final long rows, final boolean print, final Runnable action) {
+        final long statements = StatementCounter.current();
+        final long start = System.nanoTime();
+        action.run();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        if (print) {
+            System.out.printf("%-36s %10d %12.0f %14d%n", name, rows, rows / seconds, StatementCounter.current() - statements);
+        }
+    }
+
+    // createOrder escreve no console a cada pedido
+    private static void quietly(final Runnable action) {
+        final PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            action.run();
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
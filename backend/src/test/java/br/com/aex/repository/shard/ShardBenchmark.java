@@ -0,0 +1,146 @@
+package br.com.aex.repository.shard;
+
+import br.com.aex.api.Endpoints;
+import com.sun.net.httpserver.HttpServer;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Vazão de create_order com N clientes simultâneos distribuídos entre as lojas (X-Store-Id), contra uma
+ * instância já configurada com o número de shards informado.
+ * <p>
+ * Para mostrar que o cliente não é o limite, a mesma carga é repetida contra um servidor HTTP mínimo na própria
+ * JVM do benchmark, que responde 200 sem corpo: se esse teto for bem maior que a vazão de pedidos, o gargalo
+ * está na aplicação.
+ * <p>
+ * Uso: ./infra/benchmark/shard_benchmark.sh [jar] [segundos] [concorrência] [lojas] [shards...]
+ */
+public final class ShardBenchmark {
+
+    private static final String ORDER = "{\"cliente_id\":%d,\"itens\":[{\"produto_id\":1,\"quantidade\":1},"
+            + "{\"produto_id\":6,\"quantidade\":2}],\"total\":40.90}";
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+    public static void main(final String[] args) throws Exception {
+        final String base = args[0];
+        final int shards = Integer.parseInt(args[1]);
+        final double seconds = Double.parseDouble(args[2]);
+        final int concurrency = Integer.parseInt(args[3]);
+        final int stores = Integer.parseInt(args[4]);
+
+        final List<HttpRequest> orders = new ArrayList<>();
+        try (HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build()) {
+            for (int store = 1; store <= stores; store++) {
+                orders.add(post(base + Endpoints.V1_ORDER + "/create_order", store,
+                        ORDER.formatted(createClient(http, base, store))));
+            }
+        }
+
+        // rodada curta para aquecer o JIT e abrir as conexões
+        run(orders, concurrency, Math.min(3, seconds / 3));
+        final Result result = run(orders, concurrency, seconds);
+        final Result ceiling = ceiling(concurrency, seconds);
+        System.out.printf("%-8d %-8d %-12d %12.1f %10.1f %8d %16.1f%n", shards, stores, concurrency,
+                result.requests / seconds, result.p99Millis, result.errors, ceiling.requests / seconds);
+    }
+
+    private record Result(long requests, long errors, double p99Millis) {
+    }
+
+    private static Result ceiling(final int concurrency, final double seconds) throws Exception {
+        final HttpServer stub = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        stub.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        stub.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        stub.start();
+        try {
+            final String uri = "http://localhost:" + stub.getAddress().getPort() + "/";
+            final List<HttpRequest> requests = List.of(post(uri, 1, ORDER.formatted(1)));
+            run(requests, concurrency, Math.min(3, seconds / 3));
+            return run(requests, concurrency, seconds);
+        } finally {
+            stub.stop(0);
+        }
+    }
+
+    private static long createClient(final HttpClient http, final String base, final int store) throws Exception {
+        final String body = "{\"nome\":\"Bench %d\",\"telefone\":\"4899%07d\"}".formatted(store, store);
+        final String response = http.send(post(base + Endpoints.V1_CLIENT, store, body), HttpResponse.BodyHandlers.ofString()).body();
+        final Matcher id = ID.matcher(response);
+        if (!id.find()) {
+            throw new IllegalStateException("Cliente da loja " + store + " não criado: " + response);
+        }
+        return Long.parseLong(id.group(1));
+    }
+
+    private static HttpRequest post(final String uri, final int store, final String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("X-Store-Id", String.valueOf(store))
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static Result run(final List<HttpRequest> requests, final int concurrency, final double seconds) throws Exception {
+        final long deadline = System.nanoTime() + (long) (seconds * 1e9);
+        final LongAdder errors = new LongAdder();
+        final List<long[]> latencies = new ArrayList<>();
+        final List<Future<Integer>> counts = new ArrayList<>();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clients).build()) {
+            for (int c = 0; c < concurrency; c++) {
+                final long[] samples = new long[1 << 14];
+                latencies.add(samples);
+                final int offset = c;
+                counts.add(clients.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        final HttpRequest request = requests.get((offset + n) % requests.size());
+                        final long start = System.nanoTime();
+                        try {
+                            if (http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        samples[n++ & (samples.length - 1)] = System.nanoTime() - start;
+                    }
+                    return n;
+                }));
+            }
+
+            long total = 0;
+            final List<Long> all = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                final int n = counts.get(c).get();
+                total += n;
+                final long[] samples = latencies.get(c);
+                for (int i = 0; i < Math.min(n, samples.length); i++) {
+                    all.add(samples[i]);
+                }
+            }
+            all.sort(null);
+            final double p99 = all.isEmpty() ? 0 : all.get((int) (all.size() * 0.99)) / 1e6;
+            return new Result(total, errors.sum(), p99);
+        }
+    }
+}
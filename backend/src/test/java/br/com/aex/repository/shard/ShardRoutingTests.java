@@ -0,0 +1,105 @@
+package br.com.aex.repository.shard;
+
+import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
+import br.com.aex.entity.Cliente;
+import br.com.aex.service.ClientService;
+import br.com.aex.service.OrderService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Dois shards H2: a loja 1 fica no shard principal (com a massa do data.sql) e a loja 2 no shard 1.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:routing0",
+		"spring.datasource.hikari.connection-timeout=4321",
+		"aex.sharding.shards[0].url=jdbc:h2:mem:routing1",
+		"aex.sharding.shards[0].username=sa",
+		"aex.sharding.shards[0].password=pass"
+})
+class ShardRoutingTests {
+
+	private static final Long STORE_1 = 1L;
+	private static final Long STORE_2 = 2L;
+	private static final String PHONE = "48999990002";
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Test
+	void storeDataIsWrittenToItsShardOnly() {
+		assertEquals(1, shardRouter.shardFor(STORE_2));
+
+		final Cliente client = shardRouter.onStore(STORE_2, () -> clientService.saveClient(
+				Cliente.builder().nome("Cliente loja 2").telefone(PHONE).build()));
+		final CompleteOrderDtoV1 order = shardRouter.onStore(STORE_2, () -> orderService.createOrder(order(client.getId(), 1L, 1, "28.90")));
+
+		assertEquals(1, count(1, "select count(*) from cliente where loja_id = 2 and telefone = ?", PHONE));
+		assertEquals(1, count(1, "select count(*) from pedido where loja_id = 2 and id = ?", order.getId()));
+		assertEquals(0, count(ShardRouter.PRIMARY, "select count(*) from cliente where telefone = ?", PHONE));
+		assertEquals(0, count(ShardRouter.PRIMARY, "select count(*) from pedido where loja_id = 2"));
+
+		// Mesmo telefone, outra loja: não enxerga o cliente da loja 2
+		assertFalse(shardRouter.onStore(STORE_1, () -> clientService.telefoneExists(PHONE)));
+		assertTrue(shardRouter.onStore(STORE_2, () -> clientService.telefoneExists(PHONE)));
+	}
+
+	@Test
+	void referenceDataIsReplicatedToEveryShard() {
+		final long products = count(ShardRouter.PRIMARY, "select count(*) from produto");
+		assertTrue(products > 0);
+		assertEquals(products, count(1, "select count(*) from produto"));
+	}
+
+	@Test
+	void hikariSettingsApplyToEveryPool() {
+		for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+			for (Workload workload : Workload.values()) {
+				final HikariDataSource pool = (HikariDataSource) shardRouter.dataSource(shard, workload);
+				assertEquals(4321, pool.getConnectionTimeout());
+				assertEquals(workload == Workload.CUSTOMER ? 10 : 4, pool.getMaximumPoolSize());
+			}
+		}
+	}
+
+	@Test
+	void closeShutsDownEveryPool() {
+		final HikariDataSource customer = pool("closing-customer");
+		final HikariDataSource admin = pool("closing-admin");
+		final ShardRouter router = new ShardRouter(new ShardingProperties(null, null, null, null),
+				Map.of(Workload.CUSTOMER, List.of(customer), Workload.ADMIN, List.of(admin)));
+
+		router.close();
+
+		assertTrue(customer.isClosed());
+		assertTrue(admin.isClosed());
+	}
+
+	private long count(final int shard, final String sql, final Object... args) {
+		return new JdbcTemplate(shardRouter.dataSource(shard)).queryForObject(sql, Long.class, args);
+	}
+
+	private static HikariDataSource pool(final String name) {
+		final HikariDataSource pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:" + name);
+		pool.setPoolName(name);
+		return pool;
+	}
+}
@@ -0,0 +1,55 @@
+package br.com.aex.service;
+
+import br.com.aex.entity.Pedido;
+import br.com.aex.entity.PedidoRejeitado;
+import br.com.aex.repository.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pedido aceito (202) cuja gravação falha: o cliente é excluído enquanto a escritora está parada.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:intake"
+})
+class OrderIntakeServiceTests {
+
+	private static final Long STORE = 1L;
+
+	@Autowired
+	private OrderIntakeService orderIntakeService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void orderThatCannotBeWrittenIsRejectedNotLost() throws Exception {
+		orderIntakeService.stop();
+		final Pedido accepted;
+		try {
+			accepted = shardRouter.onStore(STORE, () -> orderIntakeService.accept(order(3L, 1L, 1, "28.90")));
+			new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY)).update("delete from cliente where id = 3");
+		} finally {
+			orderIntakeService.start();
+		}
+
+		Optional<PedidoRejeitado> rejected = Optional.empty();
+		for (int i = 0; i < 100 && rejected.isEmpty(); i++) {
+			Thread.sleep(50);
+			rejected = shardRouter.onStore(STORE, () -> orderIntakeService.findRejected(accepted.getId()));
+		}
+
+		assertTrue(rejected.isPresent());
+		assertEquals(accepted.getNumero(), rejected.get().getNumero());
+		assertEquals(3L, rejected.get().getClienteId());
+		assertTrue(shardRouter.onStore(STORE, () -> orderIntakeService.findPending(accepted.getId())).isEmpty());
+	}
+}
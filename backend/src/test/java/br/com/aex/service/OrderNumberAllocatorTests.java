@@ -0,0 +1,120 @@
+package br.com.aex.service;
+
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.repository.shard.StoreContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Substitui toda a massa do banco, por isso usa um banco próprio em vez do compartilhado pelos outros testes.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:numbering"
+})
+class OrderNumberAllocatorTests {
+
+	private static final int ORDERS = 2000;
+	private static final int THREADS = 64;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("delete from pagamento_outbox");
+		jdbcTemplate.update("delete from item_pedido");
+		jdbcTemplate.update("delete from pedido");
+		jdbcTemplate.update("delete from pagamento");
+		jdbcTemplate.update("delete from numeracao_pedido");
+		jdbcTemplate.update("delete from cliente");
+		jdbcTemplate.update("delete from produto");
+		jdbcTemplate.update("delete from categoria");
+
+		jdbcTemplate.update("insert into categoria (id, nome) values (1, 'LANCHE')");
+		jdbcTemplate.update("insert into produto (id, nome, descricao, preco_venda, categoria_id) values (1, 'X', 'X', 10.00, 1)");
+		jdbcTemplate.update("insert into cliente (id, loja_id, nome, telefone) values (1, 1, 'Loja 1', '48900000001')");
+		jdbcTemplate.update("insert into cliente (id, loja_id, nome, telefone) values (2, 2, 'Loja 2', '48900000002')");
+	}
+
+	@Test
+	void parallelOrdersGetUniqueNumbersPerStore() throws Exception {
+		final List<Callable<Integer>> calls = new ArrayList<>();
+		for (int i = 0; i < ORDERS; i++) {
+			final long store = i % 2 + 1;
+			calls.add(() -> StoreContext.call(store, ShardRouter.PRIMARY,
+					() -> orderService.createOrder(order(store, 1L, 1, "10.00")).getNumero()));
+		}
+		invokeAll(calls);
+
+		for (long store = 1; store <= 2; store++) {
+			final List<Integer> numbers = jdbcTemplate.queryForList(
+					"select numero from pedido where loja_id = ?", Integer.class, store);
+			assertEquals(ORDERS / 2, numbers.size());
+			assertEquals(ORDERS / 2, new HashSet<>(numbers).size(), "números repetidos na loja " + store);
+			// Uma única instância consome os blocos em ordem: no máximo o último bloco fica parcialmente sem uso
+			assertTrue(numbers.stream().mapToInt(Integer::intValue).max().orElseThrow() < ORDERS / 2 + 20);
+		}
+	}
+
+	@Test
+	void instancesNeverShareNumbers() throws Exception {
+		// Duas instâncias da aplicação disputando a mesma loja e o mesmo dia
+		final OrderNumberAllocator node1 = allocator();
+		final OrderNumberAllocator node2 = allocator();
+		final LocalDate day = LocalDate.of(2026, 1, 1);
+
+		final List<Callable<Integer>> calls = new ArrayList<>();
+		for (int i = 0; i < ORDERS; i++) {
+			final OrderNumberAllocator node = i % 2 == 0 ? node1 : node2;
+			calls.add(() -> node.next(1L, day));
+		}
+		final List<Integer> numbers = invokeAll(calls);
+
+		assertEquals(ORDERS, new HashSet<>(numbers).size());
+		assertEquals(1, node1.next(1L, day.plusDays(1)), "a numeração reinicia a cada dia");
+
+		node1.close();
+		node2.close();
+	}
+
+	private OrderNumberAllocator allocator() {
+		return new OrderNumberAllocator(shardRouter, ZoneId.of("America/Sao_Paulo"), Duration.ofHours(4), 7, 2);
+	}
+
+	private static <T> List<T> invokeAll(final List<Callable<T>> calls) throws Exception {
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			final List<T> results = new ArrayList<>();
+			for (Future<T> future : executor.invokeAll(calls)) {
+				results.add(future.get());
+			}
+			return results;
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
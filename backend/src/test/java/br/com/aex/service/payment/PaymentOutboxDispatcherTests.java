@@ -0,0 +1,128 @@
+package br.com.aex.service.payment;
+
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * O meio de pagamento de teste anota, a cada chamada, se havia transação aberta e o status do outbox no banco.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:outbox",
+		"aex.payment.port=test",
+		"aex.payment.outbox.poll-interval=1h"
+})
+class PaymentOutboxDispatcherTests {
+
+	private static final Long STORE = 1L;
+
+	@Autowired
+	private PaymentOutboxDispatcher dispatcher;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private RecordingPaymentPort paymentPort;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	void gatewayIsCalledOutsideTheClaimTransaction() {
+		final Long orderId = shardRouter.onStore(STORE, () -> orderService.createOrder(order(1L, 1L, 1, "28.90"))).getId();
+
+		dispatcher.dispatch();
+
+		final Call call = paymentPort.calls.get(orderId);
+		assertFalse(call.inTransaction());
+		assertEquals(PaymentOutboxService.OUTBOX_ENVIANDO, call.outboxStatus());
+		assertEquals(PaymentOutboxService.OUTBOX_ENVIADO, outboxStatus(orderId));
+	}
+
+	@Test
+	void deleteOrderCancelsPendingPayment() {
+		final Long orderId = shardRouter.onStore(STORE, () -> orderService.createOrder(order(1L, 1L, 1, "28.90"))).getId();
+		shardRouter.onStore(STORE, () -> {
+			orderService.deleteOrder(orderId);
+			return null;
+		});
+
+		dispatcher.dispatch();
+
+		assertEquals(PaymentOutboxService.OUTBOX_CANCELADO, outboxStatus(orderId));
+		assertNull(paymentPort.calls.get(orderId));
+	}
+
+	@Test
+	void pendingGaugeIsCountedByTheDispatchCycle() {
+		dispatcher.dispatch();
+		final double before = pendingGauge();
+
+		// Ler a métrica não consulta os shards: o pedido novo só aparece no próximo ciclo
+		shardRouter.onStore(STORE, () -> orderService.createOrder(order(1L, 1L, 1, "28.90")));
+		assertEquals(before, pendingGauge());
+
+		dispatcher.dispatch();
+		final long waiting = new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY)).queryForObject(
+				"select count(*) from pagamento_outbox where status = ?", Long.class, PaymentOutboxService.OUTBOX_PENDENTE);
+		assertEquals(waiting, pendingGauge());
+	}
+
+	private double pendingGauge() {
+		return meterRegistry.get("aex.payment.outbox.pending").gauge().value();
+	}
+
+	private String outboxStatus(final Long orderId) {
+		return new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY))
+				.queryForObject("select status from pagamento_outbox where pedido_id = ?", String.class, orderId);
+	}
+
+	record Call(boolean inTransaction, String outboxStatus) {
+	}
+
+	static class RecordingPaymentPort implements PaymentPort {
+
+		private final Map<Long, Call> calls = new ConcurrentHashMap<>();
+		private final JdbcTemplate jdbc;
+
+		RecordingPaymentPort(final JdbcTemplate jdbc) {
+			this.jdbc = jdbc;
+		}
+
+		@Override
+		public PaymentResult process(final PaymentRequest request) {
+			final String status = jdbc.queryForObject("select status from pagamento_outbox where pedido_id = ?",
+					String.class, request.pedidoId());
+			calls.put(request.pedidoId(), new Call(TransactionSynchronizationManager.isActualTransactionActive(), status));
+			return PaymentResult.approve();
+		}
+	}
+
+	@TestConfiguration
+	static class Config {
+
+		@Bean
+		RecordingPaymentPort recordingPaymentPort(final ShardRouter shardRouter) {
+			return new RecordingPaymentPort(new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY)));
+		}
+	}
+}
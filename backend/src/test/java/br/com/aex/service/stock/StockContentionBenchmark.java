@@ -0,0 +1,134 @@
+package br.com.aex.service.stock;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reservas de um único produto muito vendido, disputado por muitas threads (ex.: Combo Clássico no almoço).
+ * <p>
+ * Compara a baixa direto na linha do banco (update ... where quantidade >= ?, uma transação por reserva),
+ * um contador com synchronized, um único AtomicLong com CAS e o {@link StripedStock}.
+ * <p>
+ * Uso: ./infra/benchmark/stock_benchmark.sh [threads] [reservas-por-thread]
+ */
+public final class StockContentionBenchmark {
+
+    private interface Stock {
+        boolean reserve(long quantity) throws Exception;
+    }
+
+    public static void main(final String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        final int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        final int dbPerThread = Math.max(1, perThread / 100);
+
+        System.out.printf("%-14s %8s %12s %14s %10s%n", "estratégia", "threads", "reservas", "reservas/s", "vendidas");
+        run("banco (H2)", threads, dbPerThread, databaseRow(threads));
+        for (int round = 0; round < 2; round++) {
+            // primeira rodada aquece o JIT
+            run("synchronized", threads, perThread, synchronizedCounter());
+            run("cas", threads, perThread, casCounter());
+            run("striped", threads, perThread, stripedCounter());
+        }
+    }
+
+    private static void run(final String name, final int threads, final int perThread, final Stock stock) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final LongAdder sold = new LongAdder();
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(Thread.ofPlatform().start(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        if (stock.reserve(1)) {
+                            sold.increment();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+        }
+
+        final long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        final double seconds = (System.nanoTime() - begin) / 1e9;
+        final long total = (long) threads * perThread;
+        System.out.printf("%-14s %8d %12d %14.0f %10d%n", name, threads, total, total / seconds, sold.sum());
+    }
+
+    // Saldo grande o bastante para nenhuma reserva falhar: mede só a disputa
+    private static final long INITIAL = Long.MAX_VALUE / 2;
+
+    private static Stock synchronizedCounter() {
+        final long[] available = {INITIAL};
+        final Object lock = new Object();
+        return quantity -> {
+            synchronized (lock) {
+                if (available[0] < quantity) {
+                    return false;
+                }
+                available[0] -= quantity;
+                return true;
+            }
+        };
+    }
+
+    private static Stock casCounter() {
+        final AtomicLong available = new AtomicLong(INITIAL);
+        return quantity -> {
+            long value = available.get();
+            while (value >= quantity) {
+                if (available.compareAndSet(value, value - quantity)) {
+                    return true;
+                }
+                value = available.get();
+            }
+            return false;
+        };
+    }
+
+    private static Stock stripedCounter() {
+        final StripedStock stock = new StripedStock(INITIAL, Runtime.getRuntime().availableProcessors());
+        return stock::tryReserve;
+    }
+
+    private static Stock databaseRow(final int threads) throws SQLException {
+        final String url = "jdbc:h2:mem:stock_benchmark;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=60000";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create table estoque (produto_id bigint primary key, quantidade bigint)");
+            statement.execute("insert into estoque values (10, " + INITIAL + ")");
+        }
+
+        final ThreadLocal<PreparedStatement> statements = ThreadLocal.withInitial(() -> {
+            try {
+                final Connection connection = DriverManager.getConnection(url, "sa", "");
+                connection.setAutoCommit(false);
+                return connection.prepareStatement("update estoque set quantidade = quantidade - ? where produto_id = 10 and quantidade >= ?");
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        return quantity -> {
+            final PreparedStatement update = statements.get();
+            update.setLong(1, quantity);
+            update.setLong(2, quantity);
+            final boolean reserved = update.executeUpdate() == 1;
+            update.getConnection().commit();
+            return reserved;
+        };
+    }
+}
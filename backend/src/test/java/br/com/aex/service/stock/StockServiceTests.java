@@ -0,0 +1,86 @@
+package br.com.aex.service.stock;
+
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Write-behind do estoque sobre a massa do data.sql (loja 1). O flush agendado fica desligado: os testes
+ * chamam {@link StockService#flush()} quando querem gravar.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:stock",
+		"aex.stock.flush-interval=1h"
+})
+class StockServiceTests {
+
+	private static final Long STORE = 1L;
+
+	@Autowired
+	private StockService stockService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void reservationsReachTheDatabaseOnFlush() {
+		stockService.addStock(STORE, 2L, 10);
+		assertEquals(10, persisted(2L));
+
+		stockService.reserve(STORE, Map.of(2L, 3));
+		assertEquals(7, stockService.available(STORE, 2L).orElseThrow());
+		assertEquals(10, persisted(2L));
+
+		stockService.flush();
+		assertEquals(7, persisted(2L));
+	}
+
+	@Test
+	void restartRecoversReservationsLostBeforeFlush() {
+		stockService.addStock(STORE, 3L, 10);
+		stockService.flush();
+
+		// Pedido criado depois do último flush: a reserva só existe na memória desta instância
+		shardRouter.onStore(STORE, () -> orderService.createOrder(order(1L, 3L, 2, "55.00")));
+		assertEquals(10, persisted(3L));
+
+		final StockService restarted = new StockService(shardRouter, 4);
+		restarted.recover();
+		assertEquals(8, restarted.available(STORE, 3L).orElseThrow());
+
+		restarted.flush();
+		assertEquals(8, persisted(3L));
+	}
+
+	@Test
+	void saleAndRestockOfTheSameSizeStillAdvanceTheFlush() {
+		stockService.addStock(STORE, 4L, 10);
+		stockService.flush();
+
+		// Venda e entrada se anulam: o flush não muda a quantidade, mas a venda já está nela
+		shardRouter.onStore(STORE, () -> orderService.createOrder(order(1L, 4L, 2, "24.00")));
+		stockService.addStock(STORE, 4L, 2);
+		stockService.flush();
+		assertEquals(10, persisted(4L));
+
+		final StockService restarted = new StockService(shardRouter, 4);
+		restarted.recover();
+		assertEquals(10, restarted.available(STORE, 4L).orElseThrow());
+	}
+
+	private long persisted(final Long produtoId) {
+		return new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY)).queryForObject(
+				"select quantidade from estoque where loja_id = ? and produto_id = ?", Long.class, STORE, produtoId);
+	}
+}
@@ -0,0 +1,68 @@
+package br.com.aex.service.stock;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StripedStockTests {
+
+	private static final int THREADS = 64;
+
+	@Test
+	void neverSellsMoreThanAvailable() throws Exception {
+		final StripedStock stock = new StripedStock(10_000, 8);
+
+		// 64 threads tentando vender o dobro do saldo, em quantidades de 1 a 3
+		final List<Callable<Long>> calls = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			final int quantity = t % 3 + 1;
+			calls.add(() -> {
+				long sold = 0;
+				for (int i = 0; i < 20_000 / THREADS; i++) {
+					if (stock.tryReserve(quantity)) {
+						sold += quantity;
+					}
+				}
+				return sold;
+			});
+		}
+
+		long sold = 0;
+		final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		try {
+			for (Future<Long> future : executor.invokeAll(calls)) {
+				sold += future.get();
+			}
+		} finally {
+			executor.shutdown();
+		}
+
+		assertEquals(10_000, sold + stock.available());
+		assertEquals(-sold, stock.pending());
+	}
+
+	@Test
+	void reservesAcrossStripesWhenNoneAloneHasEnough() {
+		final StripedStock stock = new StripedStock(8, 8);
+
+		assertEquals(true, stock.tryReserve(5));
+		assertEquals(false, stock.tryReserve(4));
+		assertEquals(3, stock.available());
+	}
+
+	@Test
+	void externalReductionIsClampedAtZero() {
+		final StripedStock stock = new StripedStock(5, 4);
+
+		assertEquals(2, stock.adjust(-7));
+		assertEquals(0, stock.available());
+		assertEquals(0, stock.pending());
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.aex.service.suggestion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoOccurrenceMatrixTests {
+
+	@Test
+	void ranksByOrdersTogether() {
+		final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+		matrix.record(new long[]{2, 6}, 1);
+		matrix.record(new long[]{2, 6, 7}, 1);
+		matrix.record(new long[]{2, 7}, 1);
+		matrix.record(new long[]{2, 6, 9}, 1);
+
+		assertEquals(List.of(
+				new CoOccurrenceMatrix.Suggestion(6, 3),
+				new CoOccurrenceMatrix.Suggestion(7, 2)), matrix.top(new long[]{2}, 2));
+		// simétrica
+		assertEquals(3, matrix.orders(6, 2));
+	}
+
+	@Test
+	void basketSumsRowsAndSkipsItsOwnProducts() {
+		final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+		matrix.record(new long[]{1, 5}, 1);
+		matrix.record(new long[]{2, 5}, 1);
+		matrix.record(new long[]{1, 2, 8}, 1);
+		matrix.record(new long[]{1, 9}, 1);
+
+		// 5 aparece com 1 e com 2; 8 também, mas no mesmo pedido; empate sai pelo menor id
+		assertEquals(List.of(
+				new CoOccurrenceMatrix.Suggestion(5, 2),
+				new CoOccurrenceMatrix.Suggestion(8, 2),
+				new CoOccurrenceMatrix.Suggestion(9, 1)), matrix.top(new long[]{1, 2}, 5));
+	}
+
+	@Test
+	void deletedOrdersAreDiscounted() {
+		final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+		matrix.record(new long[]{1, 2}, 1);
+		matrix.record(new long[]{1, 3}, 1);
+		matrix.record(new long[]{1, 2}, -1);
+
+		assertEquals(List.of(new CoOccurrenceMatrix.Suggestion(3, 1)), matrix.top(new long[]{1}, 5));
+	}
+
+	@Test
+	void concurrentOrdersAreAllCounted() throws Exception {
+		final CoOccurrenceMatrix matrix = new CoOccurrenceMatrix();
+		final int threads = 16;
+		final int orders = 5_000;
+
+		// linhas crescem além da capacidade inicial enquanto outras threads gravam
+		final List<Callable<Void>> calls = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			calls.add(() -> {
+				for (int i = 0; i < orders; i++) {
+					matrix.record(new long[]{1, 2 + i % 100}, 1);
+				}
+				return null;
+			});
+		}
+		final ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			executor.invokeAll(calls).forEach(future -> assertTrue(future.isDone()));
+		} finally {
+			executor.shutdown();
+		}
+
+		for (long other = 2; other < 102; other++) {
+			assertEquals(threads * orders / 100, matrix.orders(1, other));
+			assertEquals(threads * orders / 100, matrix.orders(other, 1));
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package br.com.aex.service.summary;
+
+import br.com.aex.api.dto.complete_order.CompleteOrderDtoV1;
+import br.com.aex.entity.Cliente;
+import br.com.aex.repository.shard.ShardRouter;
+import br.com.aex.service.ClientService;
+import br.com.aex.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+
+import static br.com.aex.TestOrders.order;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Resumo de pedidos do cliente sobre a massa do data.sql (loja 1): cliente 1 com 2 pedidos, cliente 2 com 1.
+ */
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:summary"
+})
+class ClientSummaryServiceTests {
+
+	private static final Long STORE = 1L;
+
+	@Autowired
+	private ClientSummaryService clientSummaryService;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ClientService clientService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Test
+	void createAndDeleteOrderKeepSummary() {
+		final Cliente before = client(3L);
+		assertEquals(0, before.getTotalPedidos());
+		assertNull(before.getUltimoPedido());
+
+		final CompleteOrderDtoV1 first = shardRouter.onStore(STORE, () -> orderService.createOrder(order(3L, 1L, 1, "40.00")));
+		final CompleteOrderDtoV1 second = shardRouter.onStore(STORE, () -> orderService.createOrder(order(3L, 1L, 1, "10.50")));
+
+		final Cliente afterCreate = client(3L);
+		assertEquals(2, afterCreate.getTotalPedidos());
+		assertEquals(0, new BigDecimal("50.50").compareTo(afterCreate.getTotalGasto()));
+		assertNotNull(afterCreate.getUltimoPedido());
+
+		shardRouter.onStore(STORE, () -> {
+			orderService.deleteOrder(second.getId());
+			orderService.deleteOrder(first.getId());
+			return null;
+		});
+
+		final Cliente afterDelete = client(3L);
+		assertEquals(0, afterDelete.getTotalPedidos());
+		assertEquals(0, BigDecimal.ZERO.compareTo(afterDelete.getTotalGasto()));
+		assertNull(afterDelete.getUltimoPedido());
+	}
+
+	@Test
+	void reconcileFixesDrift() {
+		final JdbcTemplate jdbc = new JdbcTemplate(shardRouter.dataSource(ShardRouter.PRIMARY));
+		jdbc.update("update cliente set total_pedidos = 99, total_gasto = 1, ultimo_pedido = null where id = 2");
+
+		clientSummaryService.reconcile();
+
+		final Cliente client = client(2L);
+		assertEquals(1, client.getTotalPedidos());
+		assertEquals(0, new BigDecimal("39.50").compareTo(client.getTotalGasto()));
+		assertNotNull(client.getUltimoPedido());
+	}
+
+	private Cliente client(final Long id) {
+		return shardRouter.onStore(STORE, () -> clientService.getClient(id));
+	}
+}